@@ -0,0 +1,35 @@
+package eu.einfracentral.registry.service;
+
+import eu.einfracentral.dto.CascadeJob;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+public interface CascadeService {
+
+    enum Action {
+        SUSPEND, UNSUSPEND, ACTIVATE, DEACTIVATE, DELETE
+    }
+
+    /**
+     * Submits a job applying the given action to all the resources of a Catalogue, or of a Provider when providerId
+     * is given. The Catalogue/Provider itself is not changed.
+     *
+     * @param action      the state change
+     * @param catalogueId the Catalogue id
+     * @param providerId  the Provider id, or null for the whole Catalogue
+     * @param auth        the user requesting the change
+     * @return the submitted job
+     */
+    CascadeJob submit(Action action, String catalogueId, String providerId, Authentication auth);
+
+    /**
+     * @return the job with the given id, or null if it does not exist or has expired
+     */
+    CascadeJob get(String jobId);
+
+    /**
+     * @return the recent jobs, latest first
+     */
+    List<CascadeJob> getAll();
+}
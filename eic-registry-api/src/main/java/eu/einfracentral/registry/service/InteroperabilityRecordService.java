@@ -19,7 +19,7 @@ public interface InteroperabilityRecordService<T> extends ResourceService<T, Aut
     InteroperabilityRecordBundle verifyResource(String id, String status, Boolean active, Authentication auth);
     InteroperabilityRecordBundle publish(String id, Boolean active, Authentication auth);
     boolean validateInteroperabilityRecord(InteroperabilityRecordBundle interoperabilityRecordBundle);
-    Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId);
+    Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId, int from, int quantity);
     InteroperabilityRecordBundle createPublicInteroperabilityRecord(InteroperabilityRecordBundle interoperabilityRecordBundle, Authentication auth);
     InteroperabilityRecordBundle getCatalogueInteroperabilityRecord(String catalogueId, String interoperabilityRecordId, Authentication auth);
     Paging<InteroperabilityRecordBundle> getInteroperabilityRecordBundles(String catalogueId, String providerId, Authentication auth);
@@ -7,4 +7,13 @@ public interface MigrationService {
 
     ProviderBundle changeProviderCatalogue(String providerId, String catalogueId, String newCatalogueId, Authentication authentication);
     void updateRelatedToTheIdFieldsOfOtherResourcesOfThePortal(String oldResourceId, String newResourceId);
+
+    /**
+     * Rewrites every resource carrying more LoggingInfo entries than the inline window, so that its full history is
+     * stored separately and only the recent entries are kept in the resource, and every resource whose stored audit
+     * state is missing or outdated.
+     *
+     * @return the number of rewritten resources
+     */
+    int trimLoggingInfo();
 }
@@ -1,6 +1,7 @@
 package eu.einfracentral.registry.service;
 
 import eu.einfracentral.domain.*;
+import eu.einfracentral.dto.UserInfoDeletionJob;
 import eu.openminted.registry.core.domain.FacetFilter;
 import eu.openminted.registry.core.domain.Paging;
 import eu.openminted.registry.core.domain.Resource;
@@ -124,7 +125,13 @@ public interface ProviderService<T, U extends Authentication> extends ResourceSe
 
     ProviderBundle publish(String providerId, Boolean active, Authentication auth);
 
-    void deleteUserInfo(Authentication authentication);
+    /**
+     * Submits the deletion of the info of the authenticated user (see {@link UserInfoDeletionService}).
+     *
+     * @param authentication - Authentication
+     * @return the submitted job
+     */
+    UserInfoDeletionJob deleteUserInfo(Authentication authentication);
 
     /**
      * Get the History of the Provider with the specified id.
@@ -174,18 +181,19 @@ public interface ProviderService<T, U extends Authentication> extends ResourceSe
      *
      * @param id
      * @param catalogueId
+     * @param from
+     * @param quantity
      * @return
      */
-    Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId);
+    Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId, int from, int quantity);
 
     /**
      * @param auditState
      * @param ff
-     * @param ret
      * @param auth
      * @return
      */
-    Paging<ProviderBundle> determineAuditState(Set<String> auditState, FacetFilter ff, List<ProviderBundle> ret, Authentication auth);
+    Paging<ProviderBundle> determineAuditState(Set<String> auditState, FacetFilter ff, Authentication auth);
 
     /**
      * @param ff
@@ -197,9 +197,11 @@ public interface ServiceBundleService<T> extends ResourceCRUDService<T, Authenti
      *
      * @param id
      * @param catalogueId
+     * @param from
+     * @param quantity
      * @return
      */
-    Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId);
+    Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId, int from, int quantity);
 
     /**
      * @param id
@@ -187,9 +187,11 @@ public interface TrainingResourceService<T> extends ResourceService<T, Authentic
      *
      * @param id
      * @param catalogueId
+     * @param from
+     * @param quantity
      * @return
      */
-    Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId);
+    Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId, int from, int quantity);
 
     /**
      * @param id
@@ -0,0 +1,22 @@
+package eu.einfracentral.registry.service;
+
+import eu.einfracentral.dto.UserInfoDeletionJob;
+import org.springframework.security.core.Authentication;
+
+public interface UserInfoDeletionService {
+
+    /**
+     * Submits a job deleting the favourite and rating events of the authenticated user and removing them from the
+     * users of their Providers.
+     *
+     * @param authentication the user whose info is deleted
+     * @return the submitted job
+     * @throws eu.einfracentral.exception.ValidationException if the user is the only admin of a Provider
+     */
+    UserInfoDeletionJob submit(Authentication authentication);
+
+    /**
+     * @return the job with the given id, or null if it does not exist, has expired or was not requested by the user
+     */
+    UserInfoDeletionJob get(String jobId, Authentication authentication);
+}
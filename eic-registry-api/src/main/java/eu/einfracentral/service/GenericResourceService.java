@@ -5,8 +5,10 @@ import eu.openminted.registry.core.service.SearchService;
 
 import javax.validation.constraints.NotNull;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public interface GenericResourceService {
     <T> T get(String resourceTypeName, String field, String value, boolean throwOnNull);
@@ -15,6 +17,48 @@ public interface GenericResourceService {
 
     <T> Browsing<T> getResults(FacetFilter filter);
 
+    /**
+     * Counts the resources matching the filter, without fetching them.
+     */
+    long count(FacetFilter filter);
+
+    /**
+     * Counts the resources matching each of the filters, and the values of their browse fields, with a single request.
+     *
+     * @return for each filter, a {@link Paging} with its total and facets but no results
+     */
+    List<Paging<Resource>> count(List<FacetFilter> filters);
+
+    /**
+     * Picks {@code filter.getQuantity()} random resources matching the filter. The sampling is done by the search
+     * engine, so only the picked resources are fetched.
+     *
+     * @param filter     the filter, with the sample size as quantity
+     * @param distinctBy an index field of which at most one resource per value is picked, or null
+     * @param seed       the random seed
+     * @return the picked resources, with the number of matching resources as total
+     */
+    <T> Browsing<T> sample(FacetFilter filter, String distinctBy, long seed);
+
+    /**
+     * Finds the catalogues holding the resources with the given id, without fetching them. Resources that are not
+     * found are remembered for a short while, so repeated lookups of missing ids do not reach the search engine.
+     *
+     * @param resourceTypeName the resource type
+     * @param id               the resource id
+     * @return the ids of the catalogues holding the resource, empty if it does not exist
+     */
+    List<String> locate(String resourceTypeName, String id);
+
+    /**
+     * Finds which of the given ids belong to existing resources, without fetching them.
+     *
+     * @param resourceTypeName the resource type
+     * @param ids              the resource ids
+     * @return the ids of the given ones that exist
+     */
+    Set<String> findExistingIds(String resourceTypeName, Collection<String> ids);
+
     <T> Browsing<T> convertToBrowsing(@NotNull Paging<Resource> paging, String resourceTypeName);
 
     <T> Map<String, List<T>> getResultsGrouped(FacetFilter filter, String category);
@@ -0,0 +1,14 @@
+package eu.einfracentral.service;
+
+import java.util.Map;
+
+public interface InfoService {
+
+    /**
+     * Get the public counters of the catalogue: the number of active providers and services, and the number of
+     * distinct values of each service facet.
+     *
+     * @return the counters by name
+     */
+    Map<String, Long> getInfo();
+}
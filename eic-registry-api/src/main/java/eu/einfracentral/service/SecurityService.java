@@ -6,6 +6,7 @@ import eu.einfracentral.domain.User;
 import org.springframework.security.core.Authentication;
 
 import javax.validation.constraints.NotNull;
+import java.util.Collection;
 
 public interface SecurityService {
 
@@ -30,6 +31,15 @@ public interface SecurityService {
     boolean isResourceProviderAdmin(Authentication auth, ServiceBundle serviceBundle, boolean noThrow);
     <T extends eu.einfracentral.domain.Service> boolean isResourceProviderAdmin(Authentication auth, T service);
 
+    /**
+     * Records the providers of the given items until the end of the current request, so that checking whether
+     * a user is an admin of them does not fetch the items again.
+     *
+     * @param auth  the user the items will be checked for
+     * @param items the items that will be checked
+     */
+    void prefetchAuthorizations(Authentication auth, Collection<?> items);
+
     boolean userIsProviderAdmin(@NotNull User user, @NotNull String providerId, @NotNull String catalogueId);
 
     boolean userIsProviderAdmin(@NotNull User user, @NotNull ProviderBundle providerBundle);
@@ -47,6 +47,9 @@ public abstract class Bundle<T extends Identifiable> implements Identifiable {
     @XmlElement
     private LoggingInfo latestUpdateInfo;
 
+    @XmlElement
+    private String auditState;
+
     public Bundle() {
     }
 
@@ -144,6 +147,14 @@ public abstract class Bundle<T extends Identifiable> implements Identifiable {
         this.latestUpdateInfo = latestUpdateInfo;
     }
 
+    public String getAuditState() {
+        return auditState;
+    }
+
+    public void setAuditState(String auditState) {
+        this.auditState = auditState;
+    }
+
     @Override
     public String toString() {
         return "Bundle{" +
@@ -157,6 +168,7 @@ public abstract class Bundle<T extends Identifiable> implements Identifiable {
                 ", latestAuditInfo=" + latestAuditInfo +
                 ", latestOnboardingInfo=" + latestOnboardingInfo +
                 ", latestUpdateInfo=" + latestUpdateInfo +
+                ", auditState='" + auditState + '\'' +
                 '}';
     }
 
@@ -165,11 +177,11 @@ public abstract class Bundle<T extends Identifiable> implements Identifiable {
         if (this == o) return true;
         if (!(o instanceof Bundle)) return false;
         Bundle<?> bundle = (Bundle<?>) o;
-        return active == bundle.active && suspended == bundle.suspended && Objects.equals(payload, bundle.payload) && Objects.equals(metadata, bundle.metadata) && Objects.equals(identifiers, bundle.identifiers) && Objects.equals(migrationStatus, bundle.migrationStatus) && Objects.equals(loggingInfo, bundle.loggingInfo) && Objects.equals(latestAuditInfo, bundle.latestAuditInfo) && Objects.equals(latestOnboardingInfo, bundle.latestOnboardingInfo) && Objects.equals(latestUpdateInfo, bundle.latestUpdateInfo);
+        return active == bundle.active && suspended == bundle.suspended && Objects.equals(payload, bundle.payload) && Objects.equals(metadata, bundle.metadata) && Objects.equals(identifiers, bundle.identifiers) && Objects.equals(migrationStatus, bundle.migrationStatus) && Objects.equals(loggingInfo, bundle.loggingInfo) && Objects.equals(latestAuditInfo, bundle.latestAuditInfo) && Objects.equals(latestOnboardingInfo, bundle.latestOnboardingInfo) && Objects.equals(latestUpdateInfo, bundle.latestUpdateInfo) && Objects.equals(auditState, bundle.auditState);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(payload, metadata, active, suspended, identifiers, migrationStatus, loggingInfo, latestAuditInfo, latestOnboardingInfo, latestUpdateInfo);
+        return Objects.hash(payload, metadata, active, suspended, identifiers, migrationStatus, loggingInfo, latestAuditInfo, latestOnboardingInfo, latestUpdateInfo, auditState);
     }
 }
@@ -6,10 +6,8 @@ import org.springframework.security.core.Authentication;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @XmlType
 @XmlRootElement(namespace = "http://einfracentral.eu")
@@ -191,6 +189,54 @@ public class LoggingInfo {
         return ret;
     }
 
+    /**
+     * Bounds a LoggingInfo list to its {@code window} latest entries, also keeping the latest entry of every
+     * type/action type pair, so the registration, the latest audit and the latest update of the resource are never
+     * dropped. The retained entries keep their original order.
+     *
+     * @param loggingInfoList the LoggingInfo list
+     * @param window          the number of latest entries to keep
+     * @return the given list, if it does not exceed the window, or a new list with the retained entries
+     */
+    public static List<LoggingInfo> retainRecent(List<LoggingInfo> loggingInfoList, int window) {
+        return retainRecent(loggingInfoList, window, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #retainRecent(List, int)}, but also keeps every entry dated after {@code storedUntil}, or without
+     * a numeric date, so only entries stored elsewhere up to that date are dropped.
+     *
+     * @param loggingInfoList the LoggingInfo list
+     * @param window          the number of latest entries to keep
+     * @param storedUntil     the date (epoch millis) up to which the entries are stored elsewhere
+     * @return the given list, if it does not exceed the window, or a new list with the retained entries
+     */
+    public static List<LoggingInfo> retainRecent(List<LoggingInfo> loggingInfoList, int window, long storedUntil) {
+        if (loggingInfoList == null || loggingInfoList.size() <= window) {
+            return loggingInfoList;
+        }
+        List<LoggingInfo> latestFirst = new ArrayList<>(loggingInfoList);
+        latestFirst.sort(Comparator.comparing(LoggingInfo::getDate, Comparator.nullsFirst(Comparator.naturalOrder())).reversed());
+        Set<LoggingInfo> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> kinds = new HashSet<>();
+        for (int i = 0; i < latestFirst.size(); i++) {
+            LoggingInfo loggingInfo = latestFirst.get(i);
+            boolean latestOfKind = kinds.add(loggingInfo.getType() + ":" + loggingInfo.getActionType());
+            if (i < window || latestOfKind || !isDatedUntil(loggingInfo, storedUntil)) {
+                retained.add(loggingInfo);
+            }
+        }
+        return loggingInfoList.stream().filter(retained::contains).collect(Collectors.toList());
+    }
+
+    private static boolean isDatedUntil(LoggingInfo loggingInfo, long date) {
+        try {
+            return Long.parseLong(loggingInfo.getDate()) <= date;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
     @Override
     public String toString() {
         return "LoggingInfo{" +
@@ -0,0 +1,152 @@
+package eu.einfracentral.dto;
+
+import javax.xml.bind.annotation.XmlTransient;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Progress of a background job applying a state change (suspension, activation, deletion) of a Catalogue or a
+ * Provider to all the resources under it.
+ * <p>
+ * The progress fields are updated by the worker running the job while they are read by requests, hence volatile.
+ */
+@XmlTransient
+public class CascadeJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private String action;
+    private String catalogueId;
+    private String providerId;
+    private String requestedBy;
+    private volatile Status status;
+    private volatile int total;
+    private volatile int processed;
+    private volatile int failed;
+    private volatile Map<String, Integer> resources = new LinkedHashMap<>();
+    private long created;
+    private volatile Long started;
+    private volatile Long finished;
+    private volatile String error;
+
+    public CascadeJob() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getCatalogueId() {
+        return catalogueId;
+    }
+
+    public void setCatalogueId(String catalogueId) {
+        this.catalogueId = catalogueId;
+    }
+
+    public String getProviderId() {
+        return providerId;
+    }
+
+    public void setProviderId(String providerId) {
+        this.providerId = providerId;
+    }
+
+    public String getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(String requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    /**
+     * @return the number of affected resources by resource type
+     */
+    public Map<String, Integer> getResources() {
+        return resources;
+    }
+
+    public void setResources(Map<String, Integer> resources) {
+        this.resources = resources;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public Long getStarted() {
+        return started;
+    }
+
+    public void setStarted(Long started) {
+        this.started = started;
+    }
+
+    public Long getFinished() {
+        return finished;
+    }
+
+    public void setFinished(Long finished) {
+        this.finished = finished;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
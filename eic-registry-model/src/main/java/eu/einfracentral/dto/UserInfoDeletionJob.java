@@ -0,0 +1,113 @@
+package eu.einfracentral.dto;
+
+import javax.xml.bind.annotation.XmlTransient;
+
+/**
+ * Progress of a background job erasing the info of a user: their events and their membership in Providers.
+ * <p>
+ * The progress fields are updated by the worker running the job while they are read by requests, hence volatile.
+ */
+@XmlTransient
+public class UserInfoDeletionJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private String userId;
+    private volatile Status status;
+    private volatile int deletedEvents;
+    private volatile int updatedProviders;
+    private volatile int failed;
+    private long created;
+    private volatile Long started;
+    private volatile Long finished;
+    private volatile String error;
+
+    public UserInfoDeletionJob() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getDeletedEvents() {
+        return deletedEvents;
+    }
+
+    public void setDeletedEvents(int deletedEvents) {
+        this.deletedEvents = deletedEvents;
+    }
+
+    /**
+     * @return the number of Providers (including their public copies) the user was removed from
+     */
+    public int getUpdatedProviders() {
+        return updatedProviders;
+    }
+
+    public void setUpdatedProviders(int updatedProviders) {
+        this.updatedProviders = updatedProviders;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public Long getStarted() {
+        return started;
+    }
+
+    public void setStarted(Long started) {
+        this.started = started;
+    }
+
+    public Long getFinished() {
+        return finished;
+    }
+
+    public void setFinished(Long finished) {
+        this.finished = finished;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
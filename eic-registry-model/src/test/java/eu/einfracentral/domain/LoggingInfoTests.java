@@ -0,0 +1,64 @@
+package eu.einfracentral.domain;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LoggingInfoTests {
+
+    private static LoggingInfo entry(long date, LoggingInfo.Types type, LoggingInfo.ActionType actionType) {
+        LoggingInfo loggingInfo = new LoggingInfo();
+        loggingInfo.setDate(String.valueOf(date));
+        loggingInfo.setType(type.getKey());
+        loggingInfo.setActionType(actionType.getKey());
+        return loggingInfo;
+    }
+
+    @Test
+    public void retainRecentKeepsShortListsUntouched() {
+        List<LoggingInfo> loggingInfoList = new ArrayList<>();
+        loggingInfoList.add(entry(1000000000000L, LoggingInfo.Types.ONBOARD, LoggingInfo.ActionType.REGISTERED));
+        assertSame(loggingInfoList, LoggingInfo.retainRecent(loggingInfoList, 5));
+        assertNull(LoggingInfo.retainRecent(null, 5));
+    }
+
+    @Test
+    public void retainRecentKeepsWindowAndLatestOfEveryKind() {
+        List<LoggingInfo> loggingInfoList = new ArrayList<>();
+        loggingInfoList.add(entry(1000000000000L, LoggingInfo.Types.ONBOARD, LoggingInfo.ActionType.REGISTERED));
+        loggingInfoList.add(entry(1000000000001L, LoggingInfo.Types.ONBOARD, LoggingInfo.ActionType.APPROVED));
+        loggingInfoList.add(entry(1000000000002L, LoggingInfo.Types.AUDIT, LoggingInfo.ActionType.INVALID));
+        loggingInfoList.add(entry(1000000000003L, LoggingInfo.Types.AUDIT, LoggingInfo.ActionType.VALID));
+        for (long i = 4; i < 20; i++) {
+            loggingInfoList.add(entry(1000000000000L + i, LoggingInfo.Types.UPDATE, LoggingInfo.ActionType.UPDATED));
+        }
+
+        List<LoggingInfo> retained = LoggingInfo.retainRecent(loggingInfoList, 3);
+
+        assertEquals(7, retained.size());
+        assertEquals(LoggingInfo.ActionType.REGISTERED.getKey(), retained.get(0).getActionType());
+        assertEquals(LoggingInfo.ActionType.APPROVED.getKey(), retained.get(1).getActionType());
+        assertEquals(LoggingInfo.ActionType.INVALID.getKey(), retained.get(2).getActionType());
+        assertEquals(LoggingInfo.ActionType.VALID.getKey(), retained.get(3).getActionType());
+        assertEquals("1000000000017", retained.get(4).getDate());
+        assertEquals("1000000000019", retained.get(6).getDate());
+        assertEquals("Valid and updated", LoggingInfo.createAuditVocabularyStatuses(new ArrayList<>(retained)));
+    }
+
+    @Test
+    public void retainRecentKeepsEntriesNotStoredElsewhere() {
+        List<LoggingInfo> loggingInfoList = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            loggingInfoList.add(entry(1000000000000L + i, LoggingInfo.Types.UPDATE, LoggingInfo.ActionType.UPDATED));
+        }
+
+        List<LoggingInfo> retained = LoggingInfo.retainRecent(loggingInfoList, 2, 1000000000004L);
+
+        assertEquals(5, retained.size());
+        assertEquals("1000000000005", retained.get(0).getDate());
+        assertSame(loggingInfoList, LoggingInfo.retainRecent(loggingInfoList, 20, 1000000000004L));
+    }
+}
@@ -1,20 +1,18 @@
 package eu.einfracentral.controllers.registry;
 
-import com.google.gson.Gson;
 import eu.einfracentral.domain.ProviderBundle;
 import eu.einfracentral.domain.ServiceBundle;
 import eu.einfracentral.registry.service.ProviderService;
 import eu.einfracentral.registry.service.ServiceBundleService;
+import eu.einfracentral.utils.CsvWriter;
 import eu.openminted.registry.core.domain.FacetFilter;
 import eu.openminted.registry.core.domain.Paging;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.json.CDL;
-import org.json.JSONArray;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,14 +20,24 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import springfox.documentation.annotations.ApiIgnore;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.List;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("exportToCSV")
 public class CSVController {
 
     private static Logger logger = LogManager.getLogger(CSVController.class);
+    private static final char DELIMITER = ';';
+    private static final int PAGE_SIZE = 500;
+    private static final int BUFFER_SIZE = 8192;
+
     private final ServiceBundleService<ServiceBundle> serviceBundleService;
     private final ProviderService<ProviderBundle, Authentication> providerService;
 
@@ -45,74 +53,63 @@ public class CSVController {
     // Downloads a csv file with Service entries
     @GetMapping(path = "services", produces = {MediaType.APPLICATION_OCTET_STREAM_VALUE})
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_EPOT')")
-    public ResponseEntity<String> servicesToCSV(@ApiIgnore Authentication auth, HttpServletResponse response) {
-        FacetFilter ff = new FacetFilter();
-        ff.setQuantity(maxQuantity);
-        Paging<ServiceBundle> serviceBundles = serviceBundleService.getAll(ff, auth);
-        String csvData = listServicesToCSV(serviceBundles.getResults());
-        response.setHeader("Content-disposition", "attachment; filename=" + "services.csv");
-        return ResponseEntity.ok(csvData);
+    public void servicesToCSV(@ApiIgnore Authentication auth, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        Map<String, Function<ServiceBundle, Object>> leadingColumns = new LinkedHashMap<>();
+        leadingColumns.put("id", ServiceBundle::getId);
+        leadingColumns.put("name", serviceBundle -> serviceBundle.getService().getName());
+        export(ServiceBundle.class, leadingColumns, ff -> serviceBundleService.getAll(ff, auth), "services.csv",
+                request, response);
     }
 
     // Downloads a csv file with Provider entries
     @GetMapping(path = "providers", produces = {MediaType.APPLICATION_OCTET_STREAM_VALUE})
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_EPOT')")
-    public ResponseEntity<String> providersToCSV(@ApiIgnore Authentication auth, HttpServletResponse response) {
-        FacetFilter ff = new FacetFilter();
-        ff.setQuantity(maxQuantity);
-        Paging<ProviderBundle> providers = providerService.getAll(ff, auth);
-        String csvData = listProvidersToCSV(providers.getResults());
-        response.setHeader("Content-disposition", "attachment; filename=" + "providers.csv");
-        return ResponseEntity.ok(csvData);
-    }
-
-    private static String listToCSV(List<?> list) {
-        String json = new Gson().toJson(list);
-        JSONArray results = new JSONArray(json);
-        return CDL.toString(results);
+    public void providersToCSV(@ApiIgnore Authentication auth, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Map<String, Function<ProviderBundle, Object>> leadingColumns = new LinkedHashMap<>();
+        leadingColumns.put("id", ProviderBundle::getId);
+        leadingColumns.put("abbreviation", providerBundle -> providerBundle.getProvider().getAbbreviation());
+        leadingColumns.put("name", providerBundle -> providerBundle.getProvider().getName());
+        export(ProviderBundle.class, leadingColumns, ff -> providerService.getAll(ff, auth), "providers.csv",
+                request, response);
     }
 
-    private static String listProvidersToCSV(List<ProviderBundle> list) {
-        String resultCsv = listToCSV(list);
-        String[] rows = resultCsv.split("\n");
-        String[] header = rows[0].split(",");
-        rows[0] = "id;abbreviation;name;" + String.join(";", header);
-        for (int i = 1; i < rows.length; i++) {
-            rows[i] = replaceDelimiters(rows[i], ',', ';');
-            rows[i] = String.format("%s;%s;%s;%s", list.get(i - 1).getId(), list.get(i - 1).getProvider().getAbbreviation(),
-                    list.get(i - 1).getProvider().getName(), rows[i]);
+    /**
+     * Writes the results of the given query to the response, page by page, so that only one page is held in memory.
+     * The response is gzip-compressed if the client accepts it.
+     */
+    private <T> void export(Class<T> type, Map<String, Function<T, Object>> leadingColumns,
+                            Function<FacetFilter, Paging<T>> query, String filename,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader("Content-disposition", "attachment; filename=" + filename);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        OutputStream outputStream = response.getOutputStream();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            outputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
         }
-        return String.join("\n", rows);
-    }
 
-    private static String listServicesToCSV(List<ServiceBundle> list) {
-        String resultCsv = listToCSV(list);
-        String[] rows = resultCsv.split("\n");
-        String[] header = rows[0].split(",");
-        rows[0] = "id;name;" + String.join(";", header);
-        for (int i = 1; i < rows.length; i++) {
-            rows[i] = replaceDelimiters(rows[i], ',', ';');
-            rows[i] = String.format("%s;%s;%s", list.get(i - 1).getId(), list.get(i - 1).getService().getName(), rows[i]);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            CsvWriter<T> csvWriter = new CsvWriter<>(writer, DELIMITER, type, leadingColumns);
+            csvWriter.writeHeader();
+            // the search engine cannot page beyond its max result window
+            int rows = 0;
+            Paging<T> page;
+            do {
+                FacetFilter ff = new FacetFilter();
+                ff.setFrom(rows);
+                ff.setQuantity(Math.min(PAGE_SIZE, maxQuantity - rows));
+                page = query.apply(ff);
+                for (T result : page.getResults()) {
+                    csvWriter.writeRow(result);
+                }
+                csvWriter.flush();
+                rows += page.getResults().size();
+            } while (!page.getResults().isEmpty() && rows < page.getTotal() && rows < maxQuantity);
+            logger.debug("Exported {} rows to {}", rows, filename);
         }
-        return String.join("\n", rows);
-    }
-
-    private static String replaceDelimiters(String row, char delimiter, char newDelimiter) {
-        char[] rowInChars = row.toCharArray();
-
-        // when encountering "{ treat it as a field opening and do not replace symbols as delimiters
-        // instead wait for the closing counterpart }" and after that replace all delimiters found.
-        boolean openedField = false;
-        for (int i = 1; i < row.length(); i++) {
-            if (!openedField && rowInChars[i - 1] == '"' && rowInChars[i] == '{') {
-                openedField = true;
-            } else if (openedField && rowInChars[i - 1] == '}' && rowInChars[i] == '"') {
-                openedField = false;
-            } else if (!openedField && rowInChars[i] == delimiter) {
-                rowInChars[i] = newDelimiter;
-            }
-        }
-
-        return new String(rowInChars);
     }
 }
@@ -0,0 +1,48 @@
+package eu.einfracentral.controllers.registry;
+
+import eu.einfracentral.dto.CascadeJob;
+import eu.einfracentral.registry.service.CascadeService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("cascadeJobs")
+@Api(value = "Get the progress of Catalogue/Provider suspensions, activations and deletions")
+public class CascadeJobController {
+
+    private final CascadeService cascadeService;
+
+    @Autowired
+    CascadeJobController(CascadeService cascadeService) {
+        this.cascadeService = cascadeService;
+    }
+
+    @ApiOperation(value = "Returns the recent jobs, latest first.")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_EPOT')")
+    public ResponseEntity<List<CascadeJob>> getAll() {
+        return new ResponseEntity<>(cascadeService.getAll(), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "Returns the job with the given id.")
+    @GetMapping(path = "{id}", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_EPOT')")
+    public ResponseEntity<CascadeJob> get(@PathVariable("id") String id) {
+        CascadeJob job = cascadeService.get(id);
+        if (job == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+}
@@ -2,12 +2,14 @@ package eu.einfracentral.controllers.registry;
 
 import eu.einfracentral.annotations.Browse;
 import eu.einfracentral.domain.*;
+import eu.einfracentral.dto.UserInfoDeletionJob;
 import eu.einfracentral.exception.ResourceException;
 import eu.einfracentral.exception.ValidationException;
 import eu.einfracentral.registry.service.MigrationService;
 import eu.einfracentral.registry.service.ProviderService;
 import eu.einfracentral.registry.service.ServiceBundleService;
 import eu.einfracentral.registry.service.TrainingResourceService;
+import eu.einfracentral.registry.service.UserInfoDeletionService;
 import eu.einfracentral.service.SecurityService;
 import eu.einfracentral.utils.FacetFilterUtils;
 import eu.openminted.registry.core.domain.FacetFilter;
@@ -45,6 +47,7 @@ public class ProviderController {
     private final TrainingResourceService<TrainingResourceBundle> trainingResourceService;
     private final SecurityService securityService;
     private final MigrationService migrationService;
+    private final UserInfoDeletionService userInfoDeletionService;
 
     @Value("${project.catalogue.name}")
     private String catalogueName;
@@ -56,12 +59,14 @@ public class ProviderController {
     ProviderController(ProviderService<ProviderBundle, Authentication> service,
                        ServiceBundleService<ServiceBundle> serviceBundleService,
                        TrainingResourceService<TrainingResourceBundle> trainingResourceService,
-                       SecurityService securityService, MigrationService migrationService) {
+                       SecurityService securityService, MigrationService migrationService,
+                       UserInfoDeletionService userInfoDeletionService) {
         this.providerService = service;
         this.serviceBundleService = serviceBundleService;
         this.trainingResourceService = trainingResourceService;
         this.securityService = securityService;
         this.migrationService = migrationService;
+        this.userInfoDeletionService = userInfoDeletionService;
     }
 
     // Deletes the Provider with the given id.
@@ -219,6 +224,13 @@ public class ProviderController {
             ff.addFilter("catalogue_id", catalogueNameToSet);
         }
         ff.addFilter("published", false);
+        if (auditState != null) {
+            // 'all' is only understood by the provider queries, the search index has no such catalogue
+            if (catalogue_id != null && catalogue_id.contains("all")) {
+                ff.getFilter().remove("catalogue_id");
+            }
+            return ResponseEntity.ok(providerService.determineAuditState(auditState, ff, auth));
+        }
 
         List<Map<String, Object>> records = providerService.createQueryForProviderFilters(ff, orderDirection, orderField);
         List<ProviderBundle> ret = new ArrayList<>();
@@ -228,12 +240,7 @@ public class ProviderController {
                 ret.add(providerService.get((String) record.get("catalogue_id"), (String) record.get("provider_id"), auth));
             }
         }
-        if (auditState == null) {
-            return ResponseEntity.ok(providerService.createCorrectQuantityFacets(ret, retPaging, ff.getQuantity(), ff.getFrom()));
-        } else {
-            Paging<ProviderBundle> retWithAuditState = providerService.determineAuditState(auditState, ff, ret, auth);
-            return ResponseEntity.ok(retWithAuditState);
-        }
+        return ResponseEntity.ok(providerService.createCorrectQuantityFacets(ret, retPaging, ff.getQuantity(), ff.getFrom()));
     }
 
     @ApiOperation(value = "Get a list of services offered by a Provider.")
@@ -371,9 +378,21 @@ public class ProviderController {
         providerService.requestProviderDeletion(providerId, authentication);
     }
 
+    @ApiOperation(value = "Deletes the info of the authenticated user in the background and returns the submitted job.")
     @DeleteMapping(path = "/delete/userInfo", produces = {MediaType.APPLICATION_JSON_VALUE})
-    public void deleteUserInfo(Authentication authentication) {
-        providerService.deleteUserInfo(authentication);
+    public ResponseEntity<UserInfoDeletionJob> deleteUserInfo(@ApiIgnore Authentication authentication) {
+        return new ResponseEntity<>(providerService.deleteUserInfo(authentication), HttpStatus.ACCEPTED);
+    }
+
+    @ApiOperation(value = "Returns the progress of a deletion of the info of the authenticated user.")
+    @GetMapping(path = "/delete/userInfo/{jobId}", produces = {MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<UserInfoDeletionJob> getUserInfoDeletion(@PathVariable("jobId") String jobId,
+                                                                   @ApiIgnore Authentication authentication) {
+        UserInfoDeletionJob job = userInfoDeletionService.get(jobId, authentication);
+        if (job == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(job, HttpStatus.OK);
     }
 
     // Get all modification details of a specific Provider based on id.
@@ -413,8 +432,10 @@ public class ProviderController {
     // Get all modification details of a specific Provider based on id.
     @GetMapping(path = {"loggingInfoHistory/{id}"}, produces = {MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<Paging<LoggingInfo>> loggingInfoHistory(@PathVariable String id,
-                                                                  @RequestParam(defaultValue = "${project.catalogue.name}", name = "catalogue_id") String catalogueId) {
-        Paging<LoggingInfo> loggingInfoHistory = this.providerService.getLoggingInfoHistory(id, catalogueId);
+                                                                  @RequestParam(defaultValue = "${project.catalogue.name}", name = "catalogue_id") String catalogueId,
+                                                                  @RequestParam(defaultValue = "0") int from,
+                                                                  @RequestParam(defaultValue = "${elastic.index.max_result_window:10000}") int quantity) {
+        Paging<LoggingInfo> loggingInfoHistory = this.providerService.getLoggingInfoHistory(id, catalogueId, from, quantity);
         return ResponseEntity.ok(loggingInfoHistory);
     }
 
@@ -472,6 +493,16 @@ public class ProviderController {
         return ResponseEntity.ok(providerBundle);
     }
 
+    // Move the LoggingInfo history of all resources out of their payloads, keeping only the recent entries inline,
+    // and store the audit state of every resource
+    @ApiIgnore
+    @PutMapping(path = "trimLoggingInfo", produces = {MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<Integer> trimLoggingInfo(@ApiIgnore Authentication auth) {
+        logger.info("User '{}-{}' attempts to trim the LoggingInfo of all resources", User.of(auth).getFullName(), User.of(auth).getEmail());
+        return ResponseEntity.ok(migrationService.trimLoggingInfo());
+    }
+
     // Create a Public ProviderBundle if something went bad during its creation
     @ApiIgnore
     @PostMapping(path = "createPublicProvider", produces = {MediaType.APPLICATION_JSON_VALUE})
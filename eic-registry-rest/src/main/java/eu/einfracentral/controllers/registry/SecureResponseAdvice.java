@@ -49,10 +49,12 @@ public class SecureResponseAdvice<T> implements ResponseBodyAdvice<T> {
         if (t != null && !securityService.hasRole(auth, "ROLE_ADMIN") && !securityService.hasRole(auth, "ROLE_EPOT")) {
             logger.trace("User is not Admin nor EPOT: attempting to remove sensitive information");
             if (Collection.class.isAssignableFrom(t.getClass())) {
+                securityService.prefetchAuthorizations(auth, (Collection<T>) t);
                 for (T object : ((Collection<T>) t)) {
                     modifyContent(object, auth);
                 }
             } else if (Paging.class.isAssignableFrom(t.getClass())) {
+                securityService.prefetchAuthorizations(auth, ((Paging<T>) t).getResults());
                 for (T object : ((Paging<T>) t).getResults()) {
                     modifyContent(object, auth);
                 }
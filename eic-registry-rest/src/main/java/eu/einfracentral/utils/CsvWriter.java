@@ -0,0 +1,227 @@
+package eu.einfracentral.utils;
+
+import com.google.gson.Gson;
+import eu.einfracentral.domain.Bundle;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.*;
+import java.net.URL;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Writes objects of a model class as CSV rows, one object at a time, directly to a {@link Writer}.
+ * <p>
+ * The columns are derived from the fields of the class, in declaration order (superclass fields first), so the same
+ * class always produces the same header. Nested model objects are flattened into dotted columns
+ * (e.g. 'service.mainContact.email'), the payload of a {@link Bundle} being named after its type. Lists of simple
+ * values are joined with ', ' and lists of model objects are written as JSON, in a single cell.
+ *
+ * @param <T> the type of the exported objects
+ */
+public class CsvWriter<T> implements Flushable {
+
+    private static final String MODEL_PACKAGE = "eu.einfracentral.domain";
+    private static final String LIST_SEPARATOR = ", ";
+
+    private final Writer writer;
+    private final char delimiter;
+    private final List<Column<T>> columns = new ArrayList<>();
+    private final Gson gson = new Gson();
+
+    /**
+     * @param writer          the writer the CSV is written to
+     * @param delimiter       the column delimiter
+     * @param type            the class of the exported objects, from which the columns are derived
+     * @param leadingColumns  columns written before the derived ones, by name, in iteration order
+     */
+    public CsvWriter(Writer writer, char delimiter, Class<T> type, Map<String, Function<T, Object>> leadingColumns) {
+        this.writer = writer;
+        this.delimiter = delimiter;
+        leadingColumns.forEach((name, value) -> columns.add(new Column<>(name, value)));
+        addColumns(type, "", new ArrayList<>(), new HashSet<>());
+    }
+
+    public List<String> getHeader() {
+        List<String> header = new ArrayList<>(columns.size());
+        for (Column<T> column : columns) {
+            header.add(column.name);
+        }
+        return header;
+    }
+
+    public void writeHeader() throws IOException {
+        writeLine(getHeader());
+    }
+
+    public void writeRow(T object) throws IOException {
+        List<String> cells = new ArrayList<>(columns.size());
+        for (Column<T> column : columns) {
+            cells.add(format(column.value.apply(object)));
+        }
+        writeLine(cells);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(List<String> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writeCell(cells.get(i));
+        }
+        writer.write('\n');
+    }
+
+    private void writeCell(String value) throws IOException {
+        if (value.indexOf(delimiter) < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Date) {
+            return ((Date) value).toInstant().toString();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            for (Object element : collection) {
+                if (element != null && !isSimple(element.getClass())) {
+                    return gson.toJson(collection);
+                }
+            }
+            StringJoiner joiner = new StringJoiner(LIST_SEPARATOR);
+            for (Object element : collection) {
+                joiner.add(format(element));
+            }
+            return joiner.toString();
+        }
+        if (value instanceof Map || !isSimple(value.getClass())) {
+            return gson.toJson(value);
+        }
+        return value.toString();
+    }
+
+    private void addColumns(Class<?> type, String prefix, List<Field> path, Set<Class<?>> visiting) {
+        visiting.add(type);
+        Map<TypeVariable<?>, Type> typeArguments = typeArguments(type);
+        for (Field field : fields(type)) {
+            Class<?> fieldType = resolve(field.getGenericType(), typeArguments);
+            String name = field.getName();
+            if (Bundle.class.isAssignableFrom(type) && "payload".equals(name) && fieldType != Object.class) {
+                name = Character.toLowerCase(fieldType.getSimpleName().charAt(0)) + fieldType.getSimpleName().substring(1);
+            }
+            List<Field> fieldPath = new ArrayList<>(path);
+            fieldPath.add(field);
+            if (isModel(fieldType) && !visiting.contains(fieldType)) {
+                addColumns(fieldType, prefix + name + ".", fieldPath, visiting);
+            } else {
+                columns.add(new Column<>(prefix + name, object -> get(object, fieldPath)));
+            }
+        }
+        visiting.remove(type);
+    }
+
+    /**
+     * @return the instance fields of the given class and its superclasses, superclass fields first
+     */
+    private static List<Field> fields(Class<?> type) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.push(current);
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @return the type arguments given to the type parameters of the superclasses of the given class,
+     * e.g. Service for the payload of a ServiceBundle
+     */
+    private static Map<TypeVariable<?>, Type> typeArguments(Class<?> type) {
+        Map<TypeVariable<?>, Type> typeArguments = new HashMap<>();
+        for (Class<?> current = type; current.getSuperclass() != null; current = current.getSuperclass()) {
+            if (current.getGenericSuperclass() instanceof ParameterizedType) {
+                Type[] arguments = ((ParameterizedType) current.getGenericSuperclass()).getActualTypeArguments();
+                TypeVariable<?>[] parameters = current.getSuperclass().getTypeParameters();
+                for (int i = 0; i < parameters.length; i++) {
+                    typeArguments.put(parameters[i], arguments[i]);
+                }
+            }
+        }
+        return typeArguments;
+    }
+
+    private static Class<?> resolve(Type type, Map<TypeVariable<?>, Type> typeArguments) {
+        while (type instanceof TypeVariable && typeArguments.containsKey(type)) {
+            type = typeArguments.get(type);
+        }
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return Object.class;
+    }
+
+    private static Object get(Object object, List<Field> path) {
+        Object value = object;
+        for (Field field : path) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                value = field.get(value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return value;
+    }
+
+    private static boolean isModel(Class<?> type) {
+        return !type.isEnum() && type.getPackage() != null && type.getPackage().getName().startsWith(MODEL_PACKAGE);
+    }
+
+    private static boolean isSimple(Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || CharSequence.class.isAssignableFrom(type)
+                || Number.class.isAssignableFrom(type) || Boolean.class == type || Character.class == type
+                || Date.class.isAssignableFrom(type) || URL.class == type;
+    }
+
+    private static final class Column<T> {
+        private final String name;
+        private final Function<T, Object> value;
+
+        private Column(String name, Function<T, Object> value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
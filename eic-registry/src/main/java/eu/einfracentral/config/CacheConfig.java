@@ -32,6 +32,8 @@ public class CacheConfig {
     public static final String CACHE_SERVICE_EVENTS = "service_events";
     public static final String CACHE_VISITS = "visits";
     public static final String CACHE_DATASOURCES = "datasources";
+    public static final String CACHE_INFO = "info";
+    public static final String CACHE_RESOURCE_LOCATIONS = "resource_locations";
 
     protected RestTemplate restTemplate;
 
@@ -55,8 +57,13 @@ public class CacheConfig {
                         CacheBuilder.newBuilder().expireAfterWrite(12, TimeUnit.HOURS).maximumSize(50).build().asMap(), false),
                 new ConcurrentMapCache(CACHE_VOCABULARY_MAP,
                         CacheBuilder.newBuilder().expireAfterWrite(12, TimeUnit.HOURS).maximumSize(50).build().asMap(), false),
+                new ConcurrentMapCache(CACHE_INFO,
+                        CacheBuilder.newBuilder().expireAfterWrite(1, TimeUnit.MINUTES).maximumSize(1).build().asMap(), false),
                 new ConcurrentMapCache(CACHE_VOCABULARY_TREE,
                         CacheBuilder.newBuilder().expireAfterWrite(12, TimeUnit.HOURS).maximumSize(50).build().asMap(), false),
+                // only ids that were not found are kept, so keep them briefly
+                new ConcurrentMapCache(CACHE_RESOURCE_LOCATIONS,
+                        CacheBuilder.newBuilder().expireAfterWrite(1, TimeUnit.MINUTES).maximumSize(10000).build().asMap(), false),
 
                 // NEEDED FOR registry-core
                 new ConcurrentMapCache("resourceTypes"),
@@ -11,9 +11,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
 import org.springframework.jms.annotation.EnableJms;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.session.MapSessionRepository;
-import org.springframework.session.SessionRepository;
-import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
 import org.springframework.session.web.context.AbstractHttpSessionApplicationInitializer;
 import org.springframework.session.web.http.CookieSerializer;
 import org.springframework.session.web.http.DefaultCookieSerializer;
@@ -35,9 +32,8 @@ import java.util.Random;
         "eu.einfracentral.service",
         "eu.einfracentral.matomo",
         "eu.einfracentral.recdb"})
-@Import(CacheConfig.class)
+@Import({CacheConfig.class, SessionConfig.class})
 @PropertySource(value = {"classpath:application.properties", "classpath:registry.properties"})
-@EnableSpringHttpSession
 @EnableAspectJAutoProxy
 @EnableAsync
 @EnableJms
@@ -86,11 +82,6 @@ public class ServiceConfig extends AbstractHttpSessionApplicationInitializer {
         return defaultCookieSerializer;
     }
 
-    @Bean
-    public SessionRepository sessionRepository() {
-        return new MapSessionRepository();
-    }
-
     @Bean
     public Random randomNumberGenerator() {
         return new Random();
@@ -0,0 +1,76 @@
+package eu.einfracentral.config;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serializes session attributes with Java serialization and compresses them with deflate before they are stored.
+ * <p>
+ * Security contexts and saved requests are mostly repeated class and field names, so they shrink to a fraction of
+ * their size. Attributes that were stored uncompressed are still read, since a Java serialization stream is told apart
+ * from a deflate stream by its first byte.
+ */
+class SessionAttributeCodec implements Serializer<Object>, Deserializer<Object> {
+
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xAC;
+
+    private final Serializer<Object> serializer = new DefaultSerializer();
+    private final Deserializer<Object> deserializer;
+
+    SessionAttributeCodec(ClassLoader classLoader) {
+        this.deserializer = new DefaultDeserializer(classLoader);
+    }
+
+    /**
+     * @return a conversion service converting session attributes from and to their compressed form
+     */
+    ConversionService conversionService() {
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, new SerializingConverter(this));
+        conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter(this));
+        return conversionService;
+    }
+
+    @Override
+    public void serialize(Object object, OutputStream outputStream) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream, deflater);
+            serializer.serialize(object, deflaterOutputStream);
+            deflaterOutputStream.finish();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public Object deserialize(InputStream inputStream) throws IOException {
+        PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream);
+        int first = pushbackInputStream.read();
+        if (first == -1) {
+            throw new EOFException("Empty session attribute");
+        }
+        pushbackInputStream.unread(first);
+        if (first == JAVA_SERIALIZATION_MAGIC) {
+            return deserializer.deserialize(pushbackInputStream);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            return deserializer.deserialize(new InflaterInputStream(pushbackInputStream, inflater));
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package eu.einfracentral.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.ExpiringSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.jdbc.JdbcOperationsSessionRepository;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Configures where HTTP sessions are stored, according to the 'session.store' property:
+ * <ul>
+ *     <li>'memory' (default): in the heap of this instance, for single-node setups.</li>
+ *     <li>'jdbc': in the PostgreSQL database of the registry, so that sessions are shared by all the instances
+ *     behind a load balancer.</li>
+ * </ul>
+ * Expired sessions are removed periodically from either store.
+ */
+@Configuration
+@EnableSpringHttpSession
+public class SessionConfig {
+
+    private static final Logger logger = LogManager.getLogger(SessionConfig.class);
+
+    public static final String STORE_MEMORY = "memory";
+    public static final String STORE_JDBC = "jdbc";
+
+    private final String store;
+    private final int maxInactiveInterval;
+    private final boolean initializeSchema;
+    private final ObjectProvider<DataSource> dataSource;
+
+    private final Map<String, ExpiringSession> sessions = new ConcurrentHashMap<>();
+    private JdbcOperationsSessionRepository jdbcSessionRepository;
+
+    public SessionConfig(@Value("${session.store:" + STORE_MEMORY + "}") String store,
+                         @Value("${session.maxInactiveInterval:1800}") int maxInactiveInterval,
+                         @Value("${session.jdbc.initializeSchema:true}") boolean initializeSchema,
+                         ObjectProvider<DataSource> dataSource) {
+        this.store = store.trim().toLowerCase();
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.initializeSchema = initializeSchema;
+        this.dataSource = dataSource;
+    }
+
+    @Bean
+    public SessionRepository sessionRepository() {
+        switch (store) {
+            case STORE_MEMORY:
+                MapSessionRepository mapSessionRepository = new MapSessionRepository(sessions);
+                mapSessionRepository.setDefaultMaxInactiveInterval(maxInactiveInterval);
+                logger.info("Storing sessions in memory");
+                return mapSessionRepository;
+            case STORE_JDBC:
+                DataSource sessionDataSource = dataSource.getObject();
+                if (initializeSchema) {
+                    DatabasePopulatorUtils.execute(
+                            new ResourceDatabasePopulator(new ClassPathResource("session/schema-postgresql.sql")),
+                            sessionDataSource);
+                }
+                jdbcSessionRepository = new JdbcOperationsSessionRepository(sessionDataSource,
+                        new DataSourceTransactionManager(sessionDataSource));
+                jdbcSessionRepository.setDefaultMaxInactiveInterval(maxInactiveInterval);
+                jdbcSessionRepository.setConversionService(
+                        new SessionAttributeCodec(getClass().getClassLoader()).conversionService());
+                logger.info("Storing sessions in the database");
+                return jdbcSessionRepository;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown session store '%s', expected '%s' or '%s'",
+                        store, STORE_MEMORY, STORE_JDBC));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${session.cleanupInterval:60000}", fixedDelayString = "${session.cleanupInterval:60000}")
+    public void cleanUpExpiredSessions() {
+        if (jdbcSessionRepository != null) {
+            jdbcSessionRepository.cleanUpExpiredSessions();
+        } else {
+            sessions.values().removeIf(ExpiringSession::isExpired);
+        }
+    }
+}
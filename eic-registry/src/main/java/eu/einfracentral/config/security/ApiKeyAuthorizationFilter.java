@@ -1,17 +1,10 @@
 package eu.einfracentral.config.security;
 
-import com.nimbusds.jwt.JWT;
-import com.nimbusds.jwt.JWTParser;
 import eu.einfracentral.domain.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.codehaus.jackson.map.ObjectMapper;
-import org.mitre.openid.connect.client.OIDCAuthenticationProvider;
-import org.mitre.openid.connect.client.service.ServerConfigurationService;
-import org.mitre.openid.connect.config.ServerConfiguration;
-import org.mitre.openid.connect.model.PendingOIDCAuthenticationToken;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.common.exceptions.UnauthorizedUserException;
@@ -26,7 +19,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.text.ParseException;
-import java.util.stream.Collectors;
 
 public class ApiKeyAuthorizationFilter extends GenericFilterBean {
 
@@ -34,16 +26,14 @@ public class ApiKeyAuthorizationFilter extends GenericFilterBean {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
 
-    private final ServerConfigurationService serverConfigurationService;
+    private static final ObjectMapper mapper = new ObjectMapper();
 
-    private final AuthenticationProvider authenticationProvider;
+    private final TokenAuthenticationCache tokenAuthenticationCache;
 
-    public ApiKeyAuthorizationFilter(ServerConfigurationService serverConfigurationService,
-                                     OIDCAuthenticationProvider openIdConnectAuthenticationProvider) {
+    public ApiKeyAuthorizationFilter(TokenAuthenticationCache tokenAuthenticationCache) {
 //        super("/**");
 //        setRequiresAuthenticationRequestMatcher(new AntPathRequestMatcher("/**"));
-        this.serverConfigurationService = serverConfigurationService;
-        this.authenticationProvider = openIdConnectAuthenticationProvider;
+        this.tokenAuthenticationCache = tokenAuthenticationCache;
     }
 
     @Override
@@ -55,19 +45,11 @@ public class ApiKeyAuthorizationFilter extends GenericFilterBean {
         log.debug("REQUEST URI: {}", request.getRequestURI());
         log.debug("AUTH HEADER: {}", request.getHeader(AUTHORIZATION_HEADER));
         String jwt = resolveToken(request);
-        PendingOIDCAuthenticationToken token;
         try {
             if (jwt == null) {
                 throw new NullPointerException("jwt is null");
             }
-            JWT idToken = JWTParser.parse(jwt);
-            String issuer = idToken.getJWTClaimsSet().getIssuer();
-            String subject = idToken.getJWTClaimsSet().getSubject();
-            String accessToken = idToken.getParsedString();
-            ServerConfiguration config = serverConfigurationService.getServerConfiguration(issuer);
-            token = new PendingOIDCAuthenticationToken(subject, issuer, config, idToken, accessToken, null);
-            log.debug("Auth Token: {}", token);
-            Authentication auth = this.authenticationProvider.authenticate(token);
+            Authentication auth = tokenAuthenticationCache.authenticate(jwt);
             log.debug("Authentication: {}", auth);
             SecurityContextHolder.getContext().setAuthentication(auth);
             log.debug("Successful Authentication: [{}]", User.of(auth));
@@ -75,7 +57,6 @@ public class ApiKeyAuthorizationFilter extends GenericFilterBean {
         } catch (RuntimeException | ParseException e) {
             log.error(e);
             res.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            ObjectMapper mapper = new ObjectMapper();
             UnauthorizedUserException exception = new UnauthorizedUserException(e.getMessage(), e);
             res.getWriter().append(mapper.writeValueAsString(exception));
             ((HttpServletResponse) res).setStatus(401);
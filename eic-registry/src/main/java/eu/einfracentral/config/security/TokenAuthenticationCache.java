@@ -0,0 +1,212 @@
+package eu.einfracentral.config.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.mitre.jwt.signer.service.JWTSigningAndValidationService;
+import org.mitre.jwt.signer.service.impl.JWKSetCacheService;
+import org.mitre.openid.connect.client.OIDCAuthenticationProvider;
+import org.mitre.openid.connect.client.service.ServerConfigurationService;
+import org.mitre.openid.connect.config.ServerConfiguration;
+import org.mitre.openid.connect.model.PendingOIDCAuthenticationToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Authenticates bearer tokens through the {@link OIDCAuthenticationProvider}, keeping the authentication of every
+ * validated token until the token expires, or for at most the configured time.
+ * <p>
+ * Tokens are kept by their SHA-256 hash, and only if their signature is verified against the keys of their issuer.
+ * The keys are fetched from the issuer's JWK set URI and cached by a {@link JWKSetCacheService}. Tokens that are not
+ * signed, or whose signature cannot be verified (e.g. because the issuer rotated its keys), are authenticated on every
+ * request, as before.
+ */
+@Component
+public class TokenAuthenticationCache {
+
+    private static final Logger logger = LogManager.getLogger(TokenAuthenticationCache.class);
+
+    private final ServerConfigurationService serverConfigurationService;
+    private final AuthenticationProvider authenticationProvider;
+    private final JWKSetCacheService jwkSetCacheService = new JWKSetCacheService();
+    private final Cache<String, CachedAuthentication> authentications;
+    private final long maxTtl;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder authenticationNanos = new LongAdder();
+
+    public TokenAuthenticationCache(ServerConfigurationService serverConfigurationService,
+                                    OIDCAuthenticationProvider openIdConnectAuthenticationProvider,
+                                    @Value("${oidc.token.cache.size:10000}") long maximumSize,
+                                    @Value("${oidc.token.cache.maxTtl:300000}") long maxTtl) {
+        this.serverConfigurationService = serverConfigurationService;
+        this.authenticationProvider = openIdConnectAuthenticationProvider;
+        this.maxTtl = maxTtl;
+        this.authentications = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxTtl, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Authenticates the given token.
+     *
+     * @param jwt the serialized token
+     * @return the authentication of the token
+     * @throws ParseException if the token is not a JWT
+     */
+    public Authentication authenticate(String jwt) throws ParseException {
+        String key = hash(jwt);
+        CachedAuthentication cached = authentications.getIfPresent(key);
+        if (cached != null) {
+            if (cached.expiresAt > System.currentTimeMillis()) {
+                hits.increment();
+                return cached.authentication;
+            }
+            authentications.invalidate(key);
+        }
+        misses.increment();
+
+        long start = System.nanoTime();
+        try {
+            JWT idToken = JWTParser.parse(jwt);
+            String issuer = idToken.getJWTClaimsSet().getIssuer();
+            String subject = idToken.getJWTClaimsSet().getSubject();
+            Date expiration = idToken.getJWTClaimsSet().getExpirationTime();
+            if (expiration != null && expiration.getTime() <= System.currentTimeMillis()) {
+                throw new CredentialsExpiredException("Token has expired");
+            }
+            ServerConfiguration config = serverConfigurationService.getServerConfiguration(issuer);
+            PendingOIDCAuthenticationToken token = new PendingOIDCAuthenticationToken(subject, issuer, config, idToken,
+                    idToken.getParsedString(), null);
+            logger.debug("Auth Token: {}", token);
+            Authentication authentication = authenticationProvider.authenticate(token);
+
+            if (isSignatureVerified(idToken, config)) {
+                long expiresAt = System.currentTimeMillis() + maxTtl;
+                if (expiration != null) {
+                    expiresAt = Math.min(expiresAt, expiration.getTime());
+                }
+                authentications.put(key, new CachedAuthentication(authentication, expiresAt));
+            }
+            return authentication;
+        } catch (ParseException | RuntimeException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            authenticationNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), failures.sum(), authenticationNanos.sum());
+    }
+
+    @Scheduled(initialDelay = 300000, fixedRate = 300000) //run every 5 min
+    public void logStatistics() {
+        Statistics statistics = getStatistics();
+        if (statistics.getRequests() > 0) {
+            logger.info("Token authentications: {}", statistics);
+        }
+    }
+
+    private boolean isSignatureVerified(JWT idToken, ServerConfiguration config) {
+        if (!(idToken instanceof SignedJWT) || config == null || config.getJwksUri() == null) {
+            return false;
+        }
+        try {
+            JWTSigningAndValidationService validator = jwkSetCacheService.getValidator(config.getJwksUri());
+            if (validator != null && validator.validateSignature((SignedJWT) idToken)) {
+                return true;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not verify the signature of the token", e);
+        }
+        logger.debug("Signature of the token could not be verified, the token will not be cached");
+        return false;
+    }
+
+    private static String hash(String jwt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedAuthentication {
+        private final Authentication authentication;
+        private final long expiresAt;
+
+        private CachedAuthentication(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static final class Statistics {
+        private final long hits;
+        private final long misses;
+        private final long failures;
+        private final long authenticationNanos;
+
+        private Statistics(long hits, long misses, long failures, long authenticationNanos) {
+            this.hits = hits;
+            this.misses = misses;
+            this.failures = failures;
+            this.authenticationNanos = authenticationNanos;
+        }
+
+        public long getRequests() {
+            return hits + misses;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return the average time, in milliseconds, of the authentications that missed the cache
+         */
+        public double getAverageAuthenticationMillis() {
+            return misses == 0 ? 0 : authenticationNanos / 1e6 / misses;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d cache hits, %d misses, %d failures, %.1f ms average authentication time",
+                    getRequests(), hits, misses, failures, getAverageAuthenticationMillis());
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package eu.einfracentral.config.security;
 
 import org.mitre.openid.connect.client.OIDCAuthenticationProvider;
-import org.mitre.openid.connect.client.service.ServerConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
@@ -22,12 +21,11 @@ public class TokenSecurityConfig extends WebSecurityConfigurerAdapter {
     OIDCAuthenticationProvider openIdConnectAuthenticationProvider;
 
     @Autowired
-    ServerConfigurationService serverConfigurationService;
+    TokenAuthenticationCache tokenAuthenticationCache;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
-        GenericFilterBean filter = new ApiKeyAuthorizationFilter(serverConfigurationService,
-                openIdConnectAuthenticationProvider);
+        GenericFilterBean filter = new ApiKeyAuthorizationFilter(tokenAuthenticationCache);
         http.requestMatcher(new RequestHeaderRequestMatcher("Authorization"))
                 .csrf()
                 .disable()
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.einfracentral.exception.ResourceException;
 import eu.einfracentral.exception.ResourceNotFoundException;
 import eu.einfracentral.service.GenericResourceService;
+import eu.einfracentral.service.search.AbstractSearchService;
 import eu.einfracentral.utils.FacetLabelService;
 import eu.einfracentral.utils.ReflectUtils;
 import eu.einfracentral.utils.LoggingUtils;
@@ -24,12 +25,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import javax.validation.constraints.NotNull;
 
+import static eu.einfracentral.config.CacheConfig.CACHE_RESOURCE_LOCATIONS;
+
 @Component
 public class GenericManager implements GenericResourceService {
     private static final Logger logger = LoggerFactory.getLogger(GenericManager.class);
@@ -41,13 +45,15 @@ public class GenericManager implements GenericResourceService {
     protected final FacetLabelService facetLabelService;
     @Value("${elastic.index.max_result_window:10000}")
     protected int maxQuantity;
+    private final AbstractSearchService countService;
     private Map<String, List<String>> browseByMap;
     private Map<String, Map<String, String>> labelsMap;
 
-    protected GenericManager(@Qualifier("eicSearchService") SearchService searchService, ResourceService resourceService,
+    protected GenericManager(@Qualifier("eicSearchService") AbstractSearchService searchService, ResourceService resourceService,
                              ResourceTypeService resourceTypeService, ParserService parserPool,
                              FacetLabelService facetLabelService) {
         this.searchService = searchService;
+        this.countService = searchService;
         this.resourceService = resourceService;
         this.resourceTypeService = resourceTypeService;
         this.parserPool = parserPool;
@@ -218,6 +224,41 @@ public class GenericManager implements GenericResourceService {
         }
     }
 
+    @Override
+    public long count(FacetFilter filter) {
+        return countService.count(filter);
+    }
+
+    @Override
+    public List<Paging<Resource>> count(List<FacetFilter> filters) {
+        for (FacetFilter filter : filters) {
+            Set<String> browseBy = new HashSet<>(filter.getBrowseBy());
+            browseBy.addAll(browseByMap.get(filter.getResourceType()));
+            filter.setBrowseBy(new ArrayList<>(browseBy));
+        }
+        return countService.count(filters);
+    }
+
+    @Override
+    public <T> Browsing<T> sample(FacetFilter filter, String distinctBy, long seed) {
+        try {
+            return convertToBrowsing(countService.sample(filter, distinctBy, seed), filter.getResourceType());
+        } catch (UnknownHostException e) {
+            throw new ServiceException(e);
+        }
+    }
+
+    @Override
+    @Cacheable(cacheNames = CACHE_RESOURCE_LOCATIONS, key = "#resourceTypeName + ':' + #id", unless = "!#result.isEmpty()")
+    public List<String> locate(String resourceTypeName, String id) {
+        return countService.locate(resourceTypeName, id);
+    }
+
+    @Override
+    public Set<String> findExistingIds(String resourceTypeName, Collection<String> ids) {
+        return countService.findExistingIds(resourceTypeName, ids);
+    }
+
     @Override
     public <T> Browsing<T> convertToBrowsing(@NotNull Paging<Resource> paging, String resourceTypeName) {
         Class<?> clazz = getClassFromResourceType(resourceTypeName);
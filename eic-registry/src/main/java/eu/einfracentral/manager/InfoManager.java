@@ -0,0 +1,54 @@
+package eu.einfracentral.manager;
+
+import eu.einfracentral.service.GenericResourceService;
+import eu.einfracentral.service.InfoService;
+import eu.openminted.registry.core.domain.Facet;
+import eu.openminted.registry.core.domain.FacetFilter;
+import eu.openminted.registry.core.domain.Paging;
+import eu.openminted.registry.core.domain.Resource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static eu.einfracentral.config.CacheConfig.CACHE_INFO;
+
+@Component
+public class InfoManager implements InfoService {
+
+    private final GenericResourceService genericResourceService;
+
+    InfoManager(GenericResourceService genericResourceService) {
+        this.genericResourceService = genericResourceService;
+    }
+
+    // counts everything with one multi-search, without fetching any resource
+    @Override
+    @Cacheable(value = CACHE_INFO)
+    public Map<String, Long> getInfo() {
+        FacetFilter providers = new FacetFilter();
+        providers.setResourceType("provider");
+        providers.addFilter("active", true);
+        providers.addFilter("status", "approved provider");
+
+        FacetFilter services = new FacetFilter();
+        services.setResourceType("service");
+        services.addFilter("active", true);
+
+        List<Paging<Resource>> counts = genericResourceService.count(Arrays.asList(providers, services));
+
+        Map<String, Long> info = new HashMap<>();
+        info.put("providers", (long) counts.get(0).getTotal());
+        info.put("services", (long) counts.get(1).getTotal());
+        for (Facet f : counts.get(1).getFacets()) {
+            if (f.getField().equals("resourceType")) {
+                continue;
+            }
+            info.putIfAbsent(f.getField(), (long) f.getValues().size());
+        }
+        return info;
+    }
+}
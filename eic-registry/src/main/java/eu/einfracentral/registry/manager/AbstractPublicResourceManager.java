@@ -1,26 +1,21 @@
 package eu.einfracentral.registry.manager;
 
 import eu.einfracentral.domain.*;
-import eu.einfracentral.registry.service.CatalogueService;
-import eu.einfracentral.service.SecurityService;
-import eu.openminted.registry.core.domain.FacetFilter;
+import eu.einfracentral.service.CatalogueIdRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
 
 import java.util.*;
 
 public abstract class AbstractPublicResourceManager<T extends Identifiable> extends ResourceManager<T> {
 
     @Autowired
-    private SecurityService securityService;
-    @Autowired
-    private CatalogueService<CatalogueBundle, Authentication> catalogueService;
+    private CatalogueIdRegistry catalogueIdRegistry;
 
     public AbstractPublicResourceManager(Class<T> typeParameterClass) {
         super(typeParameterClass);
     }
 
-    protected List<String> appendCatalogueId(List<String> items, String catalogueId, List<String> allCatalogueIds) {
+    protected List<String> appendCatalogueId(List<String> items, String catalogueId, Set<String> allCatalogueIds) {
         Set<String> transformed = new HashSet<>();
         if (items != null && !items.isEmpty()) {
             for (String item : items) {
@@ -37,7 +32,7 @@ public abstract class AbstractPublicResourceManager<T extends Identifiable> exte
     }
 
     protected void updateServiceIdsToPublic(ServiceBundle serviceBundle) {
-        List<String> allCatalogueIds = getAllCatalogueIds();
+        Set<String> allCatalogueIds = getAllCatalogueIds();
         // Resource Organisation
         serviceBundle.getService().setResourceOrganisation(
                 String.format("%s.%s",
@@ -91,7 +86,7 @@ public abstract class AbstractPublicResourceManager<T extends Identifiable> exte
     }
 
     protected void updateTrainingResourceIdsToPublic(TrainingResourceBundle trainingResourceBundle) {
-        List<String> allCatalogueIds = getAllCatalogueIds();
+        Set<String> allCatalogueIds = getAllCatalogueIds();
         // Resource Organisation
         trainingResourceBundle.getTrainingResource().setResourceOrganisation(
                 String.format("%s.%s",
@@ -114,7 +109,7 @@ public abstract class AbstractPublicResourceManager<T extends Identifiable> exte
     }
 
     protected void updateResourceInteroperabilityRecordIdsToPublic(ResourceInteroperabilityRecordBundle resourceInteroperabilityRecordBundle) {
-        List<String> allCatalogueIds = getAllCatalogueIds();
+        Set<String> allCatalogueIds = getAllCatalogueIds();
         // Resource Organisation
         resourceInteroperabilityRecordBundle.getResourceInteroperabilityRecord().setResourceId(
                 String.format("%s.%s",
@@ -128,28 +123,12 @@ public abstract class AbstractPublicResourceManager<T extends Identifiable> exte
                         allCatalogueIds));
     }
 
-    protected List<String> getAllCatalogueIds() {
-        List<String> catalogueIds = new ArrayList<>();
-        FacetFilter ff = new FacetFilter();
-        ff.setQuantity(1000);
-        ff.addFilter("status", "approved catalogue");
-        ff.addFilter("active", "true");
-        List<CatalogueBundle> allCatalogues = catalogueService.getAll(ff, securityService.getAdminAccess()).getResults();
-        for (CatalogueBundle catalogueBundle : allCatalogues) {
-            catalogueIds.add(catalogueBundle.getId());
-        }
-        return catalogueIds;
+    protected Set<String> getAllCatalogueIds() {
+        return catalogueIdRegistry.getCatalogueIds();
     }
 
-    protected boolean checkIfItemContainsAnyOfTheCatalogueIds(String item, List<String> allCatalogueIds) {
-        boolean containsCatalogueId = false;
+    protected boolean checkIfItemContainsAnyOfTheCatalogueIds(String item, Set<String> allCatalogueIds) {
         String[] parts = item.split("\\.");
-        for (String catalogueId : allCatalogueIds) {
-            if (parts[0].equals(catalogueId)) {
-                containsCatalogueId = true;
-                break;
-            }
-        }
-        return containsCatalogueId;
+        return allCatalogueIds.contains(parts[0]);
     }
 }
@@ -125,12 +125,15 @@ public abstract class AbstractServiceBundleManager<T extends ServiceBundle> exte
 
     // TODO: REMOVE ME
     private T checkIdExistanceInOtherCatalogues(String id) {
-        FacetFilter ff = new FacetFilter();
-        ff.setQuantity(maxQuantity);
-        ff.addFilter("resource_internal_id", id);
-        List<T> allResources = getAll(ff, null).getResults();
-        if (allResources.size() > 0) {
-            return allResources.get(0);
+        // locate the catalogues holding the id first, so missing ids cost a single cached lookup
+        for (String catalogueId : genericResourceService.locate(getResourceType(), id)) {
+            Resource resource = getResource(id, catalogueId);
+            if (resource != null) {
+                T bundle = deserialize(resource);
+                if (bundle.isActive()) {
+                    return bundle;
+                }
+            }
         }
         return null;
     }
@@ -385,16 +388,30 @@ public abstract class AbstractServiceBundleManager<T extends ServiceBundle> exte
 
     @Override
     public Bundle<?> getResourceTemplate(String providerId, Authentication auth) {
+        return getProviderResource(providerId, "status", vocabularyService.get("pending resource").getId(), auth);
+    }
+
+    /**
+     * Finds the resource of a Provider in the default catalogue having the given value in an index field, with a
+     * one-hit search.
+     *
+     * @param providerId the Provider id
+     * @param field      the index field
+     * @param value      the value
+     * @param auth       the authentication, limiting non-providers to active resources
+     * @return the resource, or null if there is none
+     */
+    protected T getProviderResource(String providerId, String field, Object value, Authentication auth) {
         FacetFilter ff = new FacetFilter();
+        ff.setResourceType(getResourceType());
         ff.addFilter("resource_organisation", providerId);
         ff.addFilter("catalogue_id", catalogueName);
-        List<T> allProviderResources = getAll(ff, auth).getResults();
-        for (T resourceBundle : allProviderResources) {
-            if (resourceBundle.getStatus().equals(vocabularyService.get("pending resource").getId())) {
-                return resourceBundle;
-            }
-        }
-        return null;
+        ff.addFilter("published", false);
+        ff.addFilter(field, value);
+        ff.setQuantity(1);
+        updateFacetFilterConsideringTheAuthorization(ff, auth);
+        List<Resource> resources = searchServiceEIC.search(ff).getResults();
+        return resources.isEmpty() ? null : deserialize(resources.get(0));
     }
 
     @Override
@@ -504,29 +521,16 @@ public abstract class AbstractServiceBundleManager<T extends ServiceBundle> exte
         return getMatchingResources(filter);
     }
 
-    // FIXME: not working...
     @Override
     public Paging<T> getRandomResources(FacetFilter ff, String auditingInterval, Authentication auth) {
         FacetFilter facetFilter = new FacetFilter();
-        facetFilter.setQuantity(maxQuantity);
+        facetFilter.setResourceType(getResourceType());
+        facetFilter.setQuantity(ff.getQuantity());
         facetFilter.addFilter("status", "approved resource");
         facetFilter.addFilter("published", "false");
-        Browsing<T> serviceBrowsing = getAll(facetFilter, auth);
-        List<T> servicesToBeAudited = new ArrayList<>();
-        long todayEpochTime = System.currentTimeMillis();
-        long interval = Instant.ofEpochMilli(todayEpochTime).atZone(ZoneId.systemDefault()).minusMonths(Integer.parseInt(auditingInterval)).toEpochSecond();
-        for (T serviceBundle : serviceBrowsing.getResults()) {
-            if (serviceBundle.getLatestAuditInfo() != null) {
-                if (Long.parseLong(serviceBundle.getLatestAuditInfo().getDate()) > interval) {
-                    servicesToBeAudited.add(serviceBundle);
-                }
-            }
-        }
-        Collections.shuffle(servicesToBeAudited);
-        for (int i = servicesToBeAudited.size() - 1; i > ff.getQuantity() - 1; i--) {
-            servicesToBeAudited.remove(i);
-        }
-        return new Browsing<>(servicesToBeAudited.size(), 0, servicesToBeAudited.size(), servicesToBeAudited, serviceBrowsing.getFacets());
+        long auditedSince = Instant.now().atZone(ZoneId.systemDefault()).minusMonths(Integer.parseInt(auditingInterval)).toInstant().toEpochMilli();
+        facetFilter.addFilter(SearchServiceEIC.NOT_AUDITED_SINCE, String.valueOf(auditedSince));
+        return genericResourceService.sample(facetFilter, "resource_organisation", System.nanoTime());
     }
 
     @Override
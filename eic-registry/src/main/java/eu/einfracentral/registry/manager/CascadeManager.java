@@ -0,0 +1,424 @@
+package eu.einfracentral.registry.manager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import eu.einfracentral.domain.*;
+import eu.einfracentral.dto.CascadeJob;
+import eu.einfracentral.registry.service.CascadeService;
+import eu.einfracentral.service.GenericResourceService;
+import eu.einfracentral.service.MembershipIndex;
+import eu.einfracentral.service.SynchronizerService;
+import eu.einfracentral.service.search.AbstractSearchService;
+import eu.einfracentral.utils.JmsService;
+import eu.einfracentral.utils.ProviderResourcesCommonMethods;
+import eu.openminted.registry.core.domain.FacetFilter;
+import eu.openminted.registry.core.domain.Resource;
+import eu.openminted.registry.core.domain.ResourceType;
+import eu.openminted.registry.core.service.ParserService;
+import eu.openminted.registry.core.service.ResourceService;
+import eu.openminted.registry.core.service.ResourceTypeService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static eu.einfracentral.config.CacheConfig.*;
+
+/**
+ * Applies the suspension, activation or deletion of a Catalogue or a Provider to all the resources under it, in a
+ * background job.
+ * <p>
+ * The affected resources are planned once, with one search per resource type (sub-resources being found by the ids
+ * of their Services/Training Resources), instead of one lookup per resource. They are then changed in batches,
+ * together with their public copies, each resource being re-read right before it is written, and a single aggregated
+ * JMS message is sent per resource type when the job ends.
+ * Progress is reported through {@link #get(String)}.
+ */
+@Component
+public class CascadeManager implements CascadeService {
+
+    private static final Logger logger = LogManager.getLogger(CascadeManager.class);
+
+    private static final String PROVIDER = "provider";
+    private static final String SERVICE = "service";
+    private static final String TRAINING_RESOURCE = "training_resource";
+    private static final String INTEROPERABILITY_RECORD = "interoperability_record";
+    private static final String DATASOURCE = "datasource";
+    private static final String HELPDESK = "helpdesk";
+    private static final String MONITORING = "monitoring";
+    private static final String RESOURCE_INTEROPERABILITY_RECORD = "resource_interoperability_record";
+
+    // maximum number of values of a single terms filter, kept well below the boolean clause limit of elastic
+    private static final int MAX_FILTER_VALUES = 500;
+
+    private final AbstractSearchService searchService;
+    private final ResourceService resourceService;
+    private final ResourceTypeService resourceTypeService;
+    private final ParserService parserPool;
+    private final GenericResourceService genericResourceService;
+    private final ProviderResourcesCommonMethods commonMethods;
+    private final JmsService jmsService;
+    private final MembershipIndex membershipIndex;
+    private final CacheManager cacheManager;
+    private final Map<String, SynchronizerService<?>> synchronizers = new HashMap<>();
+    private final int batchSize;
+    private final int maxQuantity;
+
+    private final ExecutorService executor;
+    private final Cache<String, CascadeJob> jobs;
+
+    public CascadeManager(@Qualifier("eicSearchService") AbstractSearchService searchService, ResourceService resourceService,
+                          ResourceTypeService resourceTypeService, ParserService parserPool,
+                          @Lazy GenericResourceService genericResourceService,
+                          @Lazy ProviderResourcesCommonMethods commonMethods, JmsService jmsService,
+                          MembershipIndex membershipIndex, CacheManager cacheManager,
+                          @Qualifier("providerSync") SynchronizerService<Provider> providerSync,
+                          SynchronizerService<eu.einfracentral.domain.Service> serviceSync,
+                          SynchronizerService<TrainingResource> trainingResourceSync,
+                          SynchronizerService<Datasource> datasourceSync,
+                          @Value("${cascade.executor.threads:1}") int threads,
+                          @Value("${cascade.batchSize:100}") int batchSize,
+                          @Value("${cascade.jobs.expireAfterHours:24}") int expireAfterHours,
+                          @Value("${elastic.index.max_result_window:10000}") int maxQuantity) {
+        this.searchService = searchService;
+        this.resourceService = resourceService;
+        this.resourceTypeService = resourceTypeService;
+        this.parserPool = parserPool;
+        this.genericResourceService = genericResourceService;
+        this.commonMethods = commonMethods;
+        this.jmsService = jmsService;
+        this.membershipIndex = membershipIndex;
+        this.cacheManager = cacheManager;
+        this.synchronizers.put(PROVIDER, providerSync);
+        this.synchronizers.put(SERVICE, serviceSync);
+        this.synchronizers.put(TRAINING_RESOURCE, trainingResourceSync);
+        this.synchronizers.put(DATASOURCE, datasourceSync);
+        this.batchSize = batchSize;
+        this.maxQuantity = maxQuantity;
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("cascade-"));
+        this.jobs = CacheBuilder.newBuilder()
+                .expireAfterWrite(expireAfterHours, TimeUnit.HOURS)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public CascadeJob submit(Action action, String catalogueId, String providerId, Authentication auth) {
+        CascadeJob job = new CascadeJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setAction(action.name());
+        job.setCatalogueId(catalogueId);
+        job.setProviderId(providerId);
+        job.setRequestedBy(User.of(auth).getEmail());
+        job.setStatus(CascadeJob.Status.QUEUED);
+        job.setCreated(System.currentTimeMillis());
+        jobs.put(job.getId(), job);
+        logger.info("Submitting job [{}]: {} resources of Catalogue [{}], Provider [{}]", job.getId(), action,
+                catalogueId, providerId);
+        executor.execute(() -> run(job, action, auth));
+        return job;
+    }
+
+    @Override
+    public CascadeJob get(String jobId) {
+        return jobs.getIfPresent(jobId);
+    }
+
+    @Override
+    public List<CascadeJob> getAll() {
+        List<CascadeJob> all = new ArrayList<>(jobs.asMap().values());
+        all.sort(Comparator.comparingLong(CascadeJob::getCreated).reversed());
+        return all;
+    }
+
+    private void run(CascadeJob job, Action action, Authentication auth) {
+        job.setStarted(System.currentTimeMillis());
+        job.setStatus(CascadeJob.Status.RUNNING);
+        try {
+            Map<String, List<Item>> plan = plan(action, job.getCatalogueId(), job.getProviderId());
+            Map<String, Integer> resources = new LinkedHashMap<>();
+            plan.forEach((type, items) -> resources.put(type, items.size()));
+            job.setResources(resources);
+            job.setTotal(resources.values().stream().mapToInt(Integer::intValue).sum());
+
+            for (Map.Entry<String, List<Item>> entry : plan.entrySet()) {
+                List<String> changed = new ArrayList<>();
+                for (List<Item> batch : Lists.partition(entry.getValue(), batchSize)) {
+                    int failed = 0;
+                    for (Item item : batch) {
+                        try {
+                            apply(action, item, auth, changed);
+                        } catch (RuntimeException e) {
+                            failed++;
+                            logger.error("Job [{}]: could not {} {} [{}]", job.getId(), action, entry.getKey(),
+                                    item.resource.getId(), e);
+                        }
+                    }
+                    job.setProcessed(job.getProcessed() + batch.size());
+                    job.setFailed(job.getFailed() + failed);
+                }
+                notify(entry.getKey(), action, job, changed);
+            }
+            job.setStatus(CascadeJob.Status.COMPLETED);
+        } catch (RuntimeException | UnknownHostException e) {
+            logger.error("Job [{}] failed", job.getId(), e);
+            job.setError(e.getMessage());
+            job.setStatus(CascadeJob.Status.FAILED);
+        } finally {
+            job.setFinished(System.currentTimeMillis());
+            for (String cache : Arrays.asList(CACHE_PROVIDERS, CACHE_FEATURED, CACHE_VISITS)) {
+                Objects.requireNonNull(cacheManager.getCache(cache)).clear();
+            }
+            logger.info("Job [{}] {}: {} of {} resources processed, {} failed, in {} ms", job.getId(), job.getStatus(),
+                    job.getProcessed(), job.getTotal(), job.getFailed(), job.getFinished() - job.getStarted());
+        }
+    }
+
+    /**
+     * Finds the resources affected by the action, per resource type, in the order they are changed. Public copies
+     * are attached to the resource they were published from.
+     */
+    private Map<String, List<Item>> plan(Action action, String catalogueId, String providerId) throws UnknownHostException {
+        List<String> owners = providerId == null ? null : Arrays.asList(providerId, catalogueId + "." + providerId);
+        Map<String, List<Item>> plan = new LinkedHashMap<>();
+
+        if (providerId == null && action != Action.ACTIVATE && action != Action.DEACTIVATE) {
+            plan.put(PROVIDER, find(PROVIDER, catalogueId, null, null, null));
+        }
+        plan.put(SERVICE, find(SERVICE, catalogueId, "resource_organisation", owners, action));
+        plan.put(TRAINING_RESOURCE, find(TRAINING_RESOURCE, catalogueId, "resource_organisation", owners, action));
+        plan.put(INTEROPERABILITY_RECORD, find(INTEROPERABILITY_RECORD, catalogueId, "provider_id", owners, action));
+
+        // sub-resources of the planned Services and Training Resources
+        List<String> resourceIds = null;
+        if (providerId != null) {
+            resourceIds = new ArrayList<>();
+            for (String type : Arrays.asList(SERVICE, TRAINING_RESOURCE)) {
+                for (Item item : plan.get(type)) {
+                    resourceIds.add(item.bundle.getId());
+                    if (item.publicCopy != null) {
+                        resourceIds.add(item.publicCopy.getId());
+                    }
+                }
+            }
+        }
+        plan.put(DATASOURCE, find(DATASOURCE, catalogueId, "service_id", resourceIds, action));
+        plan.put(HELPDESK, find(HELPDESK, catalogueId, "service_id", resourceIds, action));
+        plan.put(MONITORING, find(MONITORING, catalogueId, "service_id", resourceIds, action));
+        if (action == Action.SUSPEND || action == Action.UNSUSPEND || action == Action.DELETE) {
+            plan.put(RESOURCE_INTEROPERABILITY_RECORD,
+                    find(RESOURCE_INTEROPERABILITY_RECORD, catalogueId, "resource_id", resourceIds, action));
+        }
+        return plan;
+    }
+
+    private List<Item> find(String resourceType, String catalogueId, String field, List<String> values, Action action)
+            throws UnknownHostException {
+        if (values != null && values.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Class<?> clazz = genericResourceService.getClassFromResourceType(resourceType);
+        Map<String, Bundle<?>> internal = new LinkedHashMap<>();
+        Map<String, Resource> resources = new HashMap<>();
+        Map<String, Bundle<?>> published = new HashMap<>();
+
+        List<List<String>> chunks = values == null ? Collections.singletonList(null) : Lists.partition(values, MAX_FILTER_VALUES);
+        for (List<String> chunk : chunks) {
+            FacetFilter ff = new FacetFilter();
+            ff.setResourceType(resourceType);
+            ff.addFilter("catalogue_id", catalogueId);
+            if (chunk != null) {
+                ff.addFilter(field, new ArrayList<>(chunk));
+            }
+            ff.setQuantity(maxQuantity);
+            for (Resource resource : searchService.searchAll(ff)) {
+                Bundle<?> bundle = (Bundle<?>) parserPool.deserialize(resource, clazz);
+                if (bundle.getMetadata() != null && bundle.getMetadata().isPublished()) {
+                    published.put(bundle.getId(), bundle);
+                } else {
+                    internal.put(bundle.getId(), bundle);
+                }
+                resources.put(bundle.getId(), resource);
+            }
+        }
+
+        List<Item> items = new ArrayList<>();
+        for (Bundle<?> bundle : internal.values()) {
+            if ((action == Action.ACTIVATE || action == Action.DEACTIVATE) && !isApproved(bundle)) {
+                continue;
+            }
+            String publicId = catalogueId + "." + bundle.getId();
+            items.add(new Item(resourceType, resources.get(bundle.getId()), bundle,
+                    resources.get(publicId), published.get(publicId)));
+        }
+        return items;
+    }
+
+    private static boolean isApproved(Bundle<?> bundle) {
+        if (bundle instanceof ServiceBundle) {
+            return "approved resource".equals(((ServiceBundle) bundle).getStatus());
+        } else if (bundle instanceof TrainingResourceBundle) {
+            return "approved resource".equals(((TrainingResourceBundle) bundle).getStatus());
+        } else if (bundle instanceof InteroperabilityRecordBundle) {
+            return "approved interoperability record".equals(((InteroperabilityRecordBundle) bundle).getStatus());
+        } else if (bundle instanceof DatasourceBundle) {
+            return "approved datasource".equals(((DatasourceBundle) bundle).getStatus());
+        }
+        return true;
+    }
+
+    private void apply(Action action, Item planned, Authentication auth, List<String> changed) {
+        if (action == Action.DELETE) {
+            delete(planned, changed);
+            return;
+        }
+        Item item = reload(planned);
+        if (item == null) {
+            logger.debug("{} [{}] no longer exists", planned.resourceType, planned.resource.getId());
+            return;
+        }
+        String catalogueId = catalogueIdOf(item.bundle);
+        switch (action) {
+            case SUSPEND:
+            case UNSUSPEND:
+                commonMethods.suspendResource(item.bundle, catalogueId, action == Action.SUSPEND, auth);
+                break;
+            case ACTIVATE:
+            case DEACTIVATE:
+                List<LoggingInfo> loggingInfoList = commonMethods.createActivationLoggingInfo(item.bundle,
+                        action == Action.ACTIVATE, auth);
+                item.bundle.setLoggingInfo(loggingInfoList);
+                item.bundle.setLatestUpdateInfo(loggingInfoList.get(loggingInfoList.size() - 1));
+                item.bundle.setActive(action == Action.ACTIVATE);
+                break;
+        }
+        write(item.resourceType, item.resource, item.bundle);
+        sync(item.resourceType, item.bundle, false);
+        if (item.publicCopy != null) {
+            item.publicCopy.setSuspended(item.bundle.isSuspended());
+            item.publicCopy.setActive(item.bundle.isActive());
+            item.publicCopy.setLoggingInfo(item.bundle.getLoggingInfo());
+            item.publicCopy.setLatestUpdateInfo(item.bundle.getLatestUpdateInfo());
+            write(item.resourceType, item.publicResource, item.publicCopy);
+            changed.add(item.publicCopy.getId());
+        }
+    }
+
+    /**
+     * Re-reads the planned resource and its public copy right before changing them, so that edits made after the job
+     * was planned are not overwritten.
+     *
+     * @return the current state of the item, or null if the resource no longer exists
+     */
+    private Item reload(Item item) {
+        Class<?> clazz = genericResourceService.getClassFromResourceType(item.resourceType);
+        Resource resource = resourceService.getResource(item.resource.getId());
+        if (resource == null) {
+            return null;
+        }
+        Resource publicResource = item.publicResource != null ? resourceService.getResource(item.publicResource.getId()) : null;
+        return new Item(item.resourceType, resource, (Bundle<?>) parserPool.deserialize(resource, clazz), publicResource,
+                publicResource != null ? (Bundle<?>) parserPool.deserialize(publicResource, clazz) : null);
+    }
+
+    private void delete(Item item, List<String> changed) {
+        resourceService.deleteResource(item.resource.getId());
+        sync(item.resourceType, item.bundle, true);
+        if (item.bundle instanceof ProviderBundle) {
+            membershipIndex.removeProvider(catalogueIdOf(item.bundle), item.bundle.getId());
+        }
+        if (item.publicResource != null) {
+            resourceService.deleteResource(item.publicResource.getId());
+            changed.add(item.publicCopy.getId());
+        }
+    }
+
+    private void write(String resourceType, Resource resource, Bundle<?> bundle) {
+        ResourceType type = resourceTypeService.getResourceType(resourceType);
+        resource.setPayload(parserPool.serialize(bundle, ParserService.ParserServiceTypes.fromString(type.getPayloadType())));
+        resourceService.updateResource(resource);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sync(String resourceType, Bundle<?> bundle, boolean delete) {
+        SynchronizerService<Object> synchronizer = (SynchronizerService<Object>) synchronizers.get(resourceType);
+        if (synchronizer == null) {
+            return;
+        }
+        if (delete) {
+            synchronizer.syncDelete(bundle.getPayload());
+        } else {
+            synchronizer.syncUpdate(bundle.getPayload());
+        }
+    }
+
+    /**
+     * Sends a single message for all the public resources of the given type changed by the job, instead of one
+     * message per resource.
+     */
+    private void notify(String resourceType, Action action, CascadeJob job, List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("action", action.name());
+        message.put("catalogueId", job.getCatalogueId());
+        message.put("providerId", job.getProviderId());
+        message.put("ids", ids);
+        jmsService.convertAndSendTopic(resourceType + (action == Action.DELETE ? ".bulk_delete" : ".bulk_update"), message);
+    }
+
+    private static String catalogueIdOf(Bundle<?> bundle) {
+        if (bundle instanceof ProviderBundle) {
+            return ((ProviderBundle) bundle).getProvider().getCatalogueId();
+        } else if (bundle instanceof ServiceBundle) {
+            return ((ServiceBundle) bundle).getService().getCatalogueId();
+        } else if (bundle instanceof TrainingResourceBundle) {
+            return ((TrainingResourceBundle) bundle).getTrainingResource().getCatalogueId();
+        } else if (bundle instanceof InteroperabilityRecordBundle) {
+            return ((InteroperabilityRecordBundle) bundle).getInteroperabilityRecord().getCatalogueId();
+        } else if (bundle instanceof DatasourceBundle) {
+            return ((DatasourceBundle) bundle).getDatasource().getCatalogueId();
+        } else if (bundle instanceof HelpdeskBundle) {
+            return ((HelpdeskBundle) bundle).getCatalogueId();
+        } else if (bundle instanceof MonitoringBundle) {
+            return ((MonitoringBundle) bundle).getCatalogueId();
+        } else if (bundle instanceof ResourceInteroperabilityRecordBundle) {
+            return ((ResourceInteroperabilityRecordBundle) bundle).getResourceInteroperabilityRecord().getCatalogueId();
+        }
+        return null;
+    }
+
+    private static final class Item {
+        private final String resourceType;
+        private final Resource resource;
+        private final Bundle<?> bundle;
+        private final Resource publicResource;
+        private final Bundle<?> publicCopy;
+
+        private Item(String resourceType, Resource resource, Bundle<?> bundle, Resource publicResource, Bundle<?> publicCopy) {
+            this.resourceType = resourceType;
+            this.resource = resource;
+            this.bundle = bundle;
+            this.publicResource = publicResource;
+            this.publicCopy = publicCopy;
+        }
+    }
+}
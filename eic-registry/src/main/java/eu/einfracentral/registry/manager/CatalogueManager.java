@@ -14,7 +14,6 @@ import eu.openminted.registry.core.domain.Browsing;
 import eu.openminted.registry.core.domain.FacetFilter;
 import eu.openminted.registry.core.domain.Paging;
 import eu.openminted.registry.core.domain.Resource;
-import eu.openminted.registry.core.service.ResourceCRUDService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,10 +42,7 @@ public class CatalogueManager extends ResourceManager<CatalogueBundle> implement
     private final FieldValidator fieldValidator;
     private final RegistrationMailService registrationMailService;
     private final DataSource dataSource;
-    private final ProviderService<ProviderBundle, Authentication> providerService;
-    private final ServiceBundleService<ServiceBundle> serviceBundleService;
-    private final TrainingResourceService<TrainingResourceBundle> trainingResourceService;
-    private final InteroperabilityRecordService<InteroperabilityRecordBundle> interoperabilityRecordService;
+    private final CascadeService cascadeService;
     private final ProviderResourcesCommonMethods commonMethods;
     private final String columnsOfInterest = "catalogue_id, name"; // variable with DB tables a keyword is been searched on
 
@@ -55,10 +51,7 @@ public class CatalogueManager extends ResourceManager<CatalogueBundle> implement
 
     @Autowired
     public CatalogueManager(IdCreator idCreator, DataSource dataSource,
-                            @Lazy ProviderService<ProviderBundle, Authentication> providerService,
-                            @Lazy ServiceBundleService<ServiceBundle> serviceBundleService,
-                            @Lazy TrainingResourceService<TrainingResourceBundle> trainingResourceService,
-                            @Lazy InteroperabilityRecordService<InteroperabilityRecordBundle> interoperabilityRecordService,
+                            @Lazy CascadeService cascadeService,
                             @Lazy FieldValidator fieldValidator,
                             @Lazy SecurityService securityService,
                             @Lazy VocabularyService vocabularyService,
@@ -71,10 +64,7 @@ public class CatalogueManager extends ResourceManager<CatalogueBundle> implement
         this.fieldValidator = fieldValidator;
         this.dataSource = dataSource;
         this.registrationMailService = registrationMailService;
-        this.providerService = providerService;
-        this.serviceBundleService = serviceBundleService;
-        this.trainingResourceService = trainingResourceService;
-        this.interoperabilityRecordService = interoperabilityRecordService;
+        this.cascadeService = cascadeService;
         this.commonMethods = commonMethods;
     }
 
@@ -265,21 +255,11 @@ public class CatalogueManager extends ResourceManager<CatalogueBundle> implement
             throw new ValidationException(String.format("You cannot delete [%s] Catalogue.", catalogueName));
         }
 
-        // Delete Catalogue along with all its related Resources
-        logger.info("Deleting all Catalogue's Providers...");
-        deleteCatalogueResources(id, providerService, securityService.getAdminAccess());
-
-        logger.info("Deleting all Catalogue's Services...");
-        deleteCatalogueResources(id, serviceBundleService, securityService.getAdminAccess());
-
-        logger.info("Deleting all Catalogue's Training Resources...");
-        deleteCatalogueResources(id, trainingResourceService, securityService.getAdminAccess());
-
-        logger.info("Deleting all Catalogue's Interoperability Records...");
-        deleteCatalogueResources(id, interoperabilityRecordService, securityService.getAdminAccess());
-
         logger.info("Deleting Catalogue...");
         super.delete(catalogueBundle);
+
+        // Delete all its related Resources
+        cascadeService.submit(CascadeService.Action.DELETE, id, null, securityService.getAdminAccess());
     }
 
     @Override
@@ -301,22 +281,6 @@ public class CatalogueManager extends ResourceManager<CatalogueBundle> implement
                 .collect(Collectors.toList());
     }
 
-    private <T, I extends ResourceCRUDService<T, Authentication>> void deleteCatalogueResources(String id, I service, Authentication auth) {
-        FacetFilter ff = new FacetFilter();
-        ff.setQuantity(maxQuantity);
-        ff.addFilter("catalogue_id", id);
-        // Get all Catalogue's Resources
-        List<T> allResources = service.getAll(ff, auth).getResults();
-        for (T resource : allResources){
-            try {
-                logger.info("Deleting resource: {}", resource);
-                service.delete(resource);
-            } catch (eu.openminted.registry.core.exception.ResourceNotFoundException e) {
-                logger.error(e);
-            }
-        }
-    }
-
     private void addAuthenticatedUser(Object object, Authentication auth) {
         if (object instanceof Catalogue){
             Catalogue catalogue = (Catalogue) object;
@@ -590,22 +554,9 @@ public class CatalogueManager extends ResourceManager<CatalogueBundle> implement
         super.update(catalogueBundle, auth);
 
         // Suspend Catalogue's resources
-        List<ProviderBundle> providers = providerService.getAll(createFacetFilter(catalogueId), auth).getResults();
-
-        if (providers != null && !providers.isEmpty()) {
-            for (ProviderBundle providerBundle : providers) {
-                providerService.suspend(providerBundle.getId(), catalogueId, suspend, auth);
-            }
-        }
+        cascadeService.submit(suspend ? CascadeService.Action.SUSPEND : CascadeService.Action.UNSUSPEND,
+                catalogueId, null, auth);
 
         return catalogueBundle;
     }
-
-    private FacetFilter createFacetFilter(String catalogueId){
-        FacetFilter ff = new FacetFilter();
-        ff.setQuantity(10000);
-        ff.addFilter("published", false);
-        ff.addFilter("catalogue_id", catalogueId);
-        return ff;
-    }
 }
@@ -6,13 +6,13 @@ import eu.einfracentral.exception.ResourceNotFoundException;
 import eu.einfracentral.exception.ValidationException;
 import eu.einfracentral.registry.service.*;
 import eu.einfracentral.service.IdCreator;
+import eu.einfracentral.service.LoggingInfoHistory;
 import eu.einfracentral.service.RegistrationMailService;
 import eu.einfracentral.service.SecurityService;
 import eu.einfracentral.utils.FacetFilterUtils;
 import eu.einfracentral.utils.ObjectUtils;
 import eu.einfracentral.utils.ProviderResourcesCommonMethods;
 import eu.einfracentral.validators.FieldValidator;
-import eu.openminted.registry.core.domain.Browsing;
 import eu.openminted.registry.core.domain.FacetFilter;
 import eu.openminted.registry.core.domain.Paging;
 import eu.openminted.registry.core.domain.Resource;
@@ -46,6 +46,8 @@ public class InteroperabilityRecordManager extends ResourceManager<Interoperabil
     private final ProviderResourcesCommonMethods commonMethods;
     @Autowired
     private FieldValidator fieldValidator;
+    @Autowired
+    private LoggingInfoHistory loggingInfoHistory;
     @Value("${project.catalogue.name}")
     private String catalogueName;
 
@@ -293,25 +295,33 @@ public class InteroperabilityRecordManager extends ResourceManager<Interoperabil
         return true;
     }
 
-    public Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId) {
+    @Override
+    public Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId, int from, int quantity) {
         InteroperabilityRecordBundle interoperabilityRecordBundle;
         try {
             interoperabilityRecordBundle = get(id, catalogueId);
-            List<Resource> allResources = getResources(interoperabilityRecordBundle.getInteroperabilityRecord().getId()); // get all versions
-            allResources.sort(Comparator.comparing((Resource::getCreationDate)));
-            List<LoggingInfo> loggingInfoList = new ArrayList<>();
-            for (Resource resource : allResources) {
-                InteroperabilityRecordBundle interoperabilityRecordResource = deserialize(resource);
-                if (interoperabilityRecordResource.getLoggingInfo() != null) {
-                    loggingInfoList.addAll(interoperabilityRecordResource.getLoggingInfo());
-                }
-            }
-            loggingInfoList.sort(Comparator.comparing(LoggingInfo::getDate).reversed());
-            return new Browsing<>(loggingInfoList.size(), 0, loggingInfoList.size(), loggingInfoList, null);
         } catch (ResourceNotFoundException e) {
             logger.info(String.format("Interoperability Record with id [%s] not found", id));
+            return null;
         }
-        return null;
+        if (!loggingInfoHistory.contains(getResourceType(), interoperabilityRecordBundle.getId())) {
+            // written before its history was kept
+            loggingInfoHistory.append(getResourceType(), interoperabilityRecordBundle.getId(), getLoggingInfoFromVersions(interoperabilityRecordBundle));
+        }
+        return loggingInfoHistory.get(getResourceType(), interoperabilityRecordBundle.getId(), from, quantity);
+    }
+
+    private List<LoggingInfo> getLoggingInfoFromVersions(InteroperabilityRecordBundle interoperabilityRecordBundle) {
+        List<Resource> allResources = getResources(interoperabilityRecordBundle.getInteroperabilityRecord().getId()); // get all versions
+        allResources.sort(Comparator.comparing((Resource::getCreationDate)));
+        List<LoggingInfo> loggingInfoList = new ArrayList<>();
+        for (Resource resource : allResources) {
+            InteroperabilityRecordBundle interoperabilityRecordResource = deserialize(resource);
+            if (interoperabilityRecordResource.getLoggingInfo() != null) {
+                loggingInfoList.addAll(interoperabilityRecordResource.getLoggingInfo());
+            }
+        }
+        return loggingInfoList;
     }
 
     public List<Resource> getResources(String id) {
@@ -1,20 +1,27 @@
 package eu.einfracentral.registry.manager;
 
 import eu.einfracentral.domain.*;
+import eu.einfracentral.registry.manager.aspects.LoggingInfoHistoryAspect;
 import eu.einfracentral.registry.service.MigrationService;
+import eu.einfracentral.service.GenericResourceService;
 import eu.einfracentral.service.SecurityService;
 import eu.einfracentral.utils.JmsService;
 import eu.openminted.registry.core.domain.FacetFilter;
 import eu.openminted.registry.core.domain.Resource;
+import eu.openminted.registry.core.domain.ResourceType;
+import eu.openminted.registry.core.service.ParserService;
 import eu.openminted.registry.core.service.ResourceService;
+import eu.openminted.registry.core.service.ResourceTypeService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class MigrationManager implements MigrationService {
@@ -35,11 +42,16 @@ public class MigrationManager implements MigrationService {
     private final MonitoringManager monitoringManager;
     private final JmsService jmsService;
     private final SecurityService securityService;
+    private final ResourceTypeService resourceTypeService;
+    private final ParserService parserPool;
+    private final GenericResourceService genericResourceService;
 
     @Value("${project.catalogue.name}")
     private String catalogueName;
     @Value("${elastic.index.max_result_window:10000}")
     private int maxQuantity;
+    @Value("${loggingInfo.inline.window:20}")
+    private int loggingInfoInlineWindow;
 
     @Autowired
     public MigrationManager(ServiceBundleManager serviceBundleManager, PublicServiceManager publicServiceManager,
@@ -50,7 +62,9 @@ public class MigrationManager implements MigrationService {
                             ResourceInteroperabilityRecordManager resourceInteroperabilityRecordManager,
                             PublicResourceInteroperabilityRecordManager publicResourceInteroperabilityRecordManager,
                             HelpdeskManager helpdeskManager, MonitoringManager monitoringManager,
-                            JmsService jmsService, SecurityService securityService) {
+                            JmsService jmsService, SecurityService securityService,
+                            ResourceTypeService resourceTypeService, ParserService parserPool,
+                            @Lazy GenericResourceService genericResourceService) {
         this.serviceBundleManager = serviceBundleManager;
         this.publicServiceManager = publicServiceManager;
         this.trainingResourceManager = trainingResourceManager;
@@ -65,6 +79,9 @@ public class MigrationManager implements MigrationService {
         this.monitoringManager = monitoringManager;
         this.jmsService = jmsService;
         this.securityService = securityService;
+        this.resourceTypeService = resourceTypeService;
+        this.parserPool = parserPool;
+        this.genericResourceService = genericResourceService;
     }
 
     public ProviderBundle changeProviderCatalogue(String providerId, String catalogueId, String newCatalogueId, Authentication authentication) {
@@ -267,4 +284,30 @@ public class MigrationManager implements MigrationService {
         }
     }
 
+    // rewriting a resource lets LoggingInfoHistoryAspect store its full history, trim its inline LoggingInfo and
+    // store its audit state
+    public int trimLoggingInfo() {
+        int trimmed = 0;
+        for (String resourceTypeName : LoggingInfoHistoryAspect.getResourceTypes()) {
+            ResourceType resourceType = resourceTypeService.getResourceType(resourceTypeName);
+            Class<?> clazz = genericResourceService.getClassFromResourceType(resourceTypeName);
+            int from = 0;
+            List<Resource> resources;
+            do {
+                resources = resourceService.getResource(resourceType, from, maxQuantity);
+                for (Resource resource : resources) {
+                    Bundle<?> bundle = (Bundle<?>) parserPool.deserialize(resource, clazz);
+                    if (bundle.getLoggingInfo() != null && (bundle.getLoggingInfo().size() > loggingInfoInlineWindow
+                            || !Objects.equals(bundle.getAuditState(), LoggingInfoHistoryAspect.auditState(bundle.getLoggingInfo())))) {
+                        logger.debug("Rewriting the LoggingInfo of {} [{}]", resourceTypeName, bundle.getId());
+                        resourceService.updateResource(resource);
+                        trimmed++;
+                    }
+                }
+                from += resources.size();
+            } while (!resources.isEmpty());
+        }
+        logger.info("Rewrote the LoggingInfo of {} resources", trimmed);
+        return trimmed;
+    }
 }
@@ -1,22 +1,24 @@
 package eu.einfracentral.registry.manager;
 
 import eu.einfracentral.domain.*;
+import eu.einfracentral.dto.UserInfoDeletionJob;
 import eu.einfracentral.exception.ValidationException;
 import eu.einfracentral.registry.service.*;
+import eu.einfracentral.service.GenericResourceService;
 import eu.einfracentral.service.IdCreator;
+import eu.einfracentral.service.LoggingInfoHistory;
 import eu.einfracentral.service.RegistrationMailService;
 import eu.einfracentral.service.SecurityService;
 import eu.einfracentral.service.SynchronizerService;
+import eu.einfracentral.service.search.SearchServiceEIC;
 import eu.einfracentral.utils.ObjectUtils;
 import eu.einfracentral.utils.ProviderResourcesCommonMethods;
 import eu.einfracentral.validators.FieldValidator;
 import eu.openminted.registry.core.domain.*;
-import eu.openminted.registry.core.exception.ResourceNotFoundException;
 import eu.openminted.registry.core.service.ResourceCRUDService;
 import eu.openminted.registry.core.service.VersionService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.mitre.openid.connect.model.OIDCAuthenticationToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -47,15 +49,11 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
     private static final Logger logger = LogManager.getLogger(ProviderManager.class);
     private final ServiceBundleService<ServiceBundle> serviceBundleService;
     private final TrainingResourceService<TrainingResourceBundle> trainingResourceService;
-    private final InteroperabilityRecordService<InteroperabilityRecordBundle> interoperabilityRecordService;
-    private final PublicServiceManager publicServiceManager;
     private final PublicProviderManager publicProviderManager;
-    private final PublicTrainingResourceManager publicTrainingResourceManager;
-    private final PublicInteroperabilityRecordManager publicInteroperabilityRecordManager;
     private final SecurityService securityService;
     private final FieldValidator fieldValidator;
     private final IdCreator idCreator;
-    private final EventService eventService;
+    private final UserInfoDeletionService userInfoDeletionService;
     private final RegistrationMailService registrationMailService;
     private final VersionService versionService;
     private final VocabularyService vocabularyService;
@@ -63,8 +61,13 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
     private final CatalogueService<CatalogueBundle, Authentication> catalogueService;
     private final SynchronizerService<Provider> synchronizerService;
     private final ProviderResourcesCommonMethods commonMethods;
+    private final CascadeService cascadeService;
     @Autowired
     CacheManager cacheManager;
+    @Autowired
+    private LoggingInfoHistory loggingInfoHistory;
+    @Autowired
+    private GenericResourceService genericResourceService;
 
     //TODO: maybe add description on DB and elastic too
     private final String columnsOfInterest = "provider_id, name"; // variable with DB tables a keyword is been searched on
@@ -76,23 +79,20 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
     public ProviderManager(@Lazy ServiceBundleService<ServiceBundle> serviceBundleService,
                            @Lazy SecurityService securityService, @Lazy FieldValidator fieldValidator,
                            @Lazy RegistrationMailService registrationMailService, IdCreator idCreator,
-                           EventService eventService, VersionService versionService,
+                           @Lazy UserInfoDeletionService userInfoDeletionService, VersionService versionService,
                            VocabularyService vocabularyService, DataSource dataSource,
                            @Qualifier("providerSync") SynchronizerService<Provider> synchronizerService,
                            ProviderResourcesCommonMethods commonMethods,
                            CatalogueService<CatalogueBundle, Authentication> catalogueService,
-                           @Lazy PublicServiceManager publicServiceManager,
                            @Lazy PublicProviderManager publicProviderManager,
                            @Lazy TrainingResourceService<TrainingResourceBundle> trainingResourceService,
-                           @Lazy InteroperabilityRecordService<InteroperabilityRecordBundle> interoperabilityRecordService,
-                           @Lazy PublicTrainingResourceManager publicTrainingResourceManager,
-                           @Lazy PublicInteroperabilityRecordManager publicInteroperabilityRecordManager) {
+                           @Lazy CascadeService cascadeService) {
         super(ProviderBundle.class);
         this.serviceBundleService = serviceBundleService;
         this.securityService = securityService;
         this.fieldValidator = fieldValidator;
         this.idCreator = idCreator;
-        this.eventService = eventService;
+        this.userInfoDeletionService = userInfoDeletionService;
         this.registrationMailService = registrationMailService;
         this.versionService = versionService;
         this.vocabularyService = vocabularyService;
@@ -100,12 +100,9 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
         this.synchronizerService = synchronizerService;
         this.commonMethods = commonMethods;
         this.catalogueService = catalogueService;
-        this.publicServiceManager = publicServiceManager;
         this.publicProviderManager = publicProviderManager;
         this.trainingResourceService = trainingResourceService;
-        this.interoperabilityRecordService = interoperabilityRecordService;
-        this.publicTrainingResourceManager = publicTrainingResourceManager;
-        this.publicInteroperabilityRecordManager = publicInteroperabilityRecordManager;
+        this.cascadeService = cascadeService;
     }
 
 
@@ -385,40 +382,11 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
         }
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         logger.trace("User is attempting to delete the Provider with id '{}'", provider.getId());
-        List<ServiceBundle> services = serviceBundleService.getResourceBundles(catalogueId, provider.getId(), authentication).getResults();
-        services.forEach(s -> {
-            if (!s.getMetadata().isPublished()){
-                try {
-                    serviceBundleService.delete(s);
-                } catch (ResourceNotFoundException e) {
-                    logger.error(String.format("Error deleting Service with ID [%s]", s.getId()));
-                }
-            }
-        });
-        List<TrainingResourceBundle> trainingResources = trainingResourceService.getResourceBundles(catalogueId, provider.getId(), authentication).getResults();
-        trainingResources.forEach(s -> {
-            if (!s.getMetadata().isPublished()){
-                try {
-                    trainingResourceService.delete(s);
-                } catch (ResourceNotFoundException e) {
-                    logger.error(String.format("Error deleting Training Resource with ID [%s]", s.getId()));
-                }
-            }
-        });
-        List<InteroperabilityRecordBundle> interoperabilityRecords = interoperabilityRecordService.getInteroperabilityRecordBundles(catalogueId, provider.getId(), authentication).getResults();
-        interoperabilityRecords.forEach(s -> {
-            if (!s.getMetadata().isPublished()){
-                try {
-                    interoperabilityRecordService.delete(s);
-                } catch (ResourceNotFoundException e) {
-                    logger.error(String.format("Error deleting Interoperability Record with ID [%s]", s.getId()));
-                }
-            }
-        });
         logger.debug("Deleting Provider: {} and all his Resources", provider);
 
         deleteBundle(provider);
         logger.debug("Deleting Resource {}", provider);
+        cascadeService.submit(CascadeService.Action.DELETE, catalogueId, provider.getId(), authentication);
 
         // TODO: move to aspect
         registrationMailService.notifyProviderAdmins(provider);
@@ -519,33 +487,29 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
     @Override
     @Cacheable(value = CACHE_PROVIDERS, key = "#email+(#auth!=null?#auth:'')")
     public List<ProviderBundle> getServiceProviders(String email, Authentication auth) {
-        List<ProviderBundle> providers;
         if (auth == null) {
             throw new UnauthorizedUserException("Please log in.");
-        } else if (securityService.hasRole(auth, "ROLE_ADMIN") ||
-                securityService.hasRole(auth, "ROLE_EPOT")) {
-            FacetFilter ff = new FacetFilter();
-            ff.setQuantity(maxQuantity);
-            ff.addFilter("published", false);
-            providers = super.getAll(ff, null).getResults();
-        } else if (securityService.hasRole(auth, "ROLE_PROVIDER")) {
-            providers = getMy(null, auth).getResults();
-        } else {
+        }
+        boolean admin = securityService.hasRole(auth, "ROLE_ADMIN") || securityService.hasRole(auth, "ROLE_EPOT");
+        if (!admin && !securityService.hasRole(auth, "ROLE_PROVIDER")) {
             return new ArrayList<>();
         }
+        // only the Providers the email is a user of are fetched, through the indexed user emails
+        FacetFilter ff = new FacetFilter();
+        ff.setQuantity(maxQuantity);
+        ff.addFilter("published", false);
+        ff.addFilter("users", email);
+        List<ProviderBundle> providers = super.getAll(ff, null).getResults();
+        if (admin) {
+            return providers;
+        }
+        // providers can only see the ones they are users of too
+        String authEmail = User.of(auth).getEmail();
         return providers
                 .stream()
-                .map(p -> {
-                    if (p.getProvider().getUsers() != null && p.getProvider().getUsers().stream().filter(Objects::nonNull).anyMatch(u -> {
-                        if (u.getEmail() != null) {
-                            return u.getEmail().equalsIgnoreCase(email);
-                        }
-                        return false;
-                    })) {
-                        return p;
-                    } else return null;
-                })
-                .filter(Objects::nonNull)
+                .filter(p -> p.getProvider().getUsers() != null && p.getProvider().getUsers().stream()
+                        .filter(Objects::nonNull)
+                        .anyMatch(u -> u.getEmail() != null && u.getEmail().equalsIgnoreCase(authEmail)))
                 .collect(Collectors.toList());
     }
 
@@ -580,101 +544,13 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
     }
 
     public void activateProviderResources(String providerId, Boolean active, Authentication auth) {
-        List<ServiceBundle> services = serviceBundleService.getResourceBundles(providerId, auth);
-        List<TrainingResourceBundle> trainingResources = trainingResourceService.getResourceBundles(providerId, auth);
-        List<InteroperabilityRecordBundle> interoperabilityRecords = interoperabilityRecordService.getInteroperabilityRecordBundles(catalogueName, providerId, auth).getResults();
         if (active){
             logger.info("Activating all Resources of the Provider with id: {}", providerId);
         } else{
             logger.info("Deactivating all Resources of the Provider with id: {}", providerId);
         }
-        activateProviderServices(services, active, auth);
-        activateProviderTrainingResources(trainingResources, active, auth);
-        activateProviderInteroperabilityRecords(interoperabilityRecords, active, auth);
-    }
-
-    private void activateProviderServices(List<ServiceBundle> services, Boolean active, Authentication auth){
-        for (ServiceBundle service : services){
-            if (service.getStatus().equals("approved resource")) {
-                ServiceBundle lowerLevelService = ObjectUtils.clone(service);
-                List<LoggingInfo> loggingInfoList = commonMethods.createActivationLoggingInfo(service, active, auth);
-
-                // update Service's fields
-                service.setLoggingInfo(loggingInfoList);
-                service.setLatestUpdateInfo(loggingInfoList.get(loggingInfoList.size()-1));
-                service.setActive(active);
-
-                try {
-                    logger.debug("Setting Service '{}'-'{}' of the '{}' Catalogue to active: '{}'", service.getId(),
-                            service.getService().getName(), service.getService().getCatalogueId(), service.isActive());
-                    serviceBundleService.update(service, auth);
-                    // TODO: FIX ON ProviderManagementAspect
-                    publicServiceManager.update(service, auth);
-                } catch (ResourceNotFoundException e) {
-                    logger.error("Could not update Service '{}'-'{}' of the '{}' Catalogue", service.getId(),
-                            service.getService().getName(), service.getService().getCatalogueId());
-                }
-
-                // Activate/Deactivate Service's Extensions && Subprofiles
-                serviceBundleService.publishServiceRelatedResources(lowerLevelService.getId(),
-                        lowerLevelService.getService().getCatalogueId(), active, auth);
-            }
-        }
-    }
-
-    private void activateProviderTrainingResources(List<TrainingResourceBundle> trainingResources, Boolean active, Authentication auth){
-        for (TrainingResourceBundle trainingResourceBundle : trainingResources){
-            if (trainingResourceBundle.getStatus().equals("approved resource")) {
-                TrainingResourceBundle lowerLevelTrainingResource = ObjectUtils.clone(trainingResourceBundle);
-                List<LoggingInfo> loggingInfoList = commonMethods.createActivationLoggingInfo(trainingResourceBundle, active, auth);
-
-                // update Service's fields
-                trainingResourceBundle.setLoggingInfo(loggingInfoList);
-                trainingResourceBundle.setLatestUpdateInfo(loggingInfoList.get(loggingInfoList.size()-1));
-                trainingResourceBundle.setActive(active);
-
-                try {
-                    logger.debug("Setting Training Resource '{}'-'{}' of the '{}' Catalogue to active: '{}'", trainingResourceBundle.getId(),
-                            trainingResourceBundle.getTrainingResource().getTitle(), trainingResourceBundle.getTrainingResource().getCatalogueId(),
-                            trainingResourceBundle.isActive());
-                    trainingResourceService.update(trainingResourceBundle, auth);
-                    // TODO: FIX ON ProviderManagementAspect
-                    publicTrainingResourceManager.update(trainingResourceBundle, auth);
-                } catch (ResourceNotFoundException e) {
-                    logger.error("Could not update Training Resource '{}'-'{}' of the '{}' Catalogue", trainingResourceBundle.getId(),
-                            trainingResourceBundle.getTrainingResource().getTitle(), trainingResourceBundle.getTrainingResource().getCatalogueId());
-                }
-
-                // Activate/Deactivate Training Resource's Extensions
-                trainingResourceService.publishTrainingResourceRelatedResources(lowerLevelTrainingResource.getId(),
-                        lowerLevelTrainingResource.getTrainingResource().getCatalogueId(), active, auth);
-            }
-        }
-    }
-
-    private void activateProviderInteroperabilityRecords(List<InteroperabilityRecordBundle> interoperabilityRecords, Boolean active, Authentication auth){
-        for (InteroperabilityRecordBundle interoperabilityRecordBundle : interoperabilityRecords) {
-            if (interoperabilityRecordBundle.getStatus().equals("approved interoperability record")) {
-                List<LoggingInfo> loggingInfoList = commonMethods.createActivationLoggingInfo(interoperabilityRecordBundle, active, auth);
-
-                // update Service's fields
-                interoperabilityRecordBundle.setLoggingInfo(loggingInfoList);
-                interoperabilityRecordBundle.setLatestUpdateInfo(loggingInfoList.get(loggingInfoList.size()-1));
-                interoperabilityRecordBundle.setActive(active);
-
-                try {
-                    logger.debug("Setting Interoperability Record '{}'-'{}' of the '{}' Catalogue to active: '{}'", interoperabilityRecordBundle.getId(),
-                            interoperabilityRecordBundle.getInteroperabilityRecord().getTitle(), interoperabilityRecordBundle.getInteroperabilityRecord().getCatalogueId(),
-                            interoperabilityRecordBundle.isActive());
-                    interoperabilityRecordService.update(interoperabilityRecordBundle, auth);
-                    // TODO: FIX ON ProviderManagementAspect
-                    publicInteroperabilityRecordManager.update(interoperabilityRecordBundle, auth);
-                } catch (ResourceNotFoundException e) {
-                    logger.error("Could not update Interoperability Record '{}'-'{}' of the '{}' Catalogue", interoperabilityRecordBundle.getId(),
-                            interoperabilityRecordBundle.getInteroperabilityRecord().getTitle(), interoperabilityRecordBundle.getInteroperabilityRecord().getCatalogueId());
-                }
-            }
-        }
+        cascadeService.submit(active ? CascadeService.Action.ACTIVATE : CascadeService.Action.DEACTIVATE,
+                catalogueName, providerId, auth);
     }
 
     @Override
@@ -698,39 +574,9 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
     }
 
     @Override
-    @CacheEvict(value = {CACHE_PROVIDERS, CACHE_SERVICE_EVENTS, CACHE_EVENTS}, allEntries = true)
-    public void deleteUserInfo(Authentication authentication) {
+    public UserInfoDeletionJob deleteUserInfo(Authentication authentication) {
         logger.trace("User '{}' is attempting to delete his User Info", authentication);
-        String userEmail = ((OIDCAuthenticationToken) authentication).getUserInfo().getEmail();
-        String userId = ((OIDCAuthenticationToken) authentication).getUserInfo().getSub();
-        List<Event> allUserEvents = new ArrayList<>();
-        allUserEvents.addAll(eventService.getUserEvents(Event.UserActionType.FAVOURITE.getKey(), authentication));
-        allUserEvents.addAll(eventService.getUserEvents(Event.UserActionType.RATING.getKey(), authentication));
-        List<ProviderBundle> allUserProviders = getMy(null, authentication).getResults();
-        for (ProviderBundle providerBundle : allUserProviders) {
-            if (providerBundle.getProvider().getUsers().size() == 1) {
-                throw new ValidationException(String.format("Your user info cannot be deleted, because you are the solely Admin of the Provider [%s]. " +
-                        "You need to delete your Provider first or add more Admins.", providerBundle.getProvider().getName()));
-            }
-        }
-        logger.info("Attempting to delete all user events");
-        eventService.deleteEvents(allUserEvents);
-        for (ProviderBundle providerBundle : allUserProviders) {
-            List<User> updatedUsers = new ArrayList<>();
-            for (User user : providerBundle.getProvider().getUsers()) {
-                if (user.getId() != null && !"".equals(user.getId())) {
-                    if (!user.getId().equals(userId)) {
-                        updatedUsers.add(user);
-                    }
-                } else {
-                    if (!user.getEmail().equals("") && !user.getEmail().equalsIgnoreCase(userEmail)) {
-                        updatedUsers.add(user);
-                    }
-                }
-            }
-            providerBundle.getProvider().setUsers(updatedUsers);
-            update(providerBundle, authentication);
-        }
+        return userInfoDeletionService.submit(authentication);
     }
 
     private void addAuthenticatedUser(Provider provider, Authentication auth) {
@@ -824,91 +670,31 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
 
     public Paging<ProviderBundle> getRandomProviders(FacetFilter ff, String auditingInterval, Authentication auth) {
         FacetFilter facetFilter = new FacetFilter();
-        facetFilter.setQuantity(maxQuantity);
+        facetFilter.setResourceType(getResourceType());
+        facetFilter.setQuantity(ff.getQuantity());
         facetFilter.addFilter("status", "approved provider");
         facetFilter.addFilter("published", "false");
-        Browsing<ProviderBundle> providerBrowsing = getAll(facetFilter, auth);
-        List<ProviderBundle> providersToBeAudited = new ArrayList<>();
-        long todayEpochTime = System.currentTimeMillis();
-        long interval = Instant.ofEpochMilli(todayEpochTime).atZone(ZoneId.systemDefault()).minusMonths(Integer.parseInt(auditingInterval)).toEpochSecond();
-        for (ProviderBundle providerBundle : providerBrowsing.getResults()) {
-            if (providerBundle.getLatestAuditInfo() != null) {
-                if (Long.parseLong(providerBundle.getLatestAuditInfo().getDate()) > interval) {
-                    providersToBeAudited.add(providerBundle);
-                }
-            }
-        }
-        Collections.shuffle(providersToBeAudited);
-        for (int i = providersToBeAudited.size() - 1; i > ff.getQuantity() - 1; i--) {
-            providersToBeAudited.remove(i);
-        }
-        return new Browsing<>(providersToBeAudited.size(), 0, providersToBeAudited.size(), providersToBeAudited, providerBrowsing.getFacets());
+        long auditedSince = Instant.now().atZone(ZoneId.systemDefault()).minusMonths(Integer.parseInt(auditingInterval)).toInstant().toEpochMilli();
+        facetFilter.addFilter(SearchServiceEIC.NOT_AUDITED_SINCE, String.valueOf(auditedSince));
+        return genericResourceService.sample(facetFilter, null, System.nanoTime());
     }
 
-    //    @Override
-    public Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId) {
+    @Override
+    public Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId, int from, int quantity) {
         ProviderBundle providerBundle = getWithCatalogue(id, catalogueId);
-        if (providerBundle.getLoggingInfo() != null){
-            List<LoggingInfo> loggingInfoList = providerBundle.getLoggingInfo();
-            loggingInfoList.sort(Comparator.comparing(LoggingInfo::getDate).reversed());
-            return new Browsing<>(loggingInfoList.size(), 0, loggingInfoList.size(), loggingInfoList, null);
+        if (!loggingInfoHistory.contains(getResourceType(), providerBundle.getId())) {
+            if (providerBundle.getLoggingInfo() == null) {
+                return null;
+            }
+            // written before its history was kept
+            loggingInfoHistory.append(getResourceType(), providerBundle.getId(), providerBundle.getLoggingInfo());
         }
-        return null;
+        return loggingInfoHistory.get(getResourceType(), providerBundle.getId(), from, quantity);
     }
 
-    public Paging<ProviderBundle> determineAuditState(Set<String> auditState, FacetFilter ff, List<ProviderBundle> providers, Authentication auth) {
-        List<ProviderBundle> valid = new ArrayList<>();
-        List<ProviderBundle> notAudited = new ArrayList<>();
-        List<ProviderBundle> invalidAndUpdated = new ArrayList<>();
-        List<ProviderBundle> invalidAndNotUpdated = new ArrayList<>();
-
-        Paging<ProviderBundle> retPaging = getAll(ff, auth);
-        List<ProviderBundle> allWithoutAuditFilterList = new ArrayList<>();
-        if (providers.isEmpty()){
-            allWithoutAuditFilterList = getAll(ff, auth).getResults();
-        } else{
-            allWithoutAuditFilterList.addAll(providers);
-        }
-        List<ProviderBundle> ret = new ArrayList<>();
-        for (ProviderBundle providerBundle : allWithoutAuditFilterList){
-            String auditVocStatus;
-            try{
-                auditVocStatus = LoggingInfo.createAuditVocabularyStatuses(providerBundle.getLoggingInfo());
-            } catch (NullPointerException e){ // providerBundle has null loggingInfo
-                continue;
-            }
-            switch (auditVocStatus){
-                case "Valid and updated":
-                case "Valid and not updated":
-                    valid.add(providerBundle);
-                    break;
-                case "Not Audited":
-                    notAudited.add(providerBundle);
-                    break;
-                case "Invalid and updated":
-                    invalidAndUpdated.add(providerBundle);
-                    break;
-                case "Invalid and not updated":
-                    invalidAndNotUpdated.add(providerBundle);
-                    break;
-                default:
-                    throw new IllegalStateException("Unexpected value: " + auditVocStatus);
-            }
-        }
-        for (String state : auditState){
-            if (state.equals("Valid")){
-                ret.addAll(valid);
-            } else if (state.equals("Not Audited")){
-                ret.addAll(notAudited);
-            } else if (state.equals("Invalid and updated")){
-                ret.addAll(invalidAndUpdated);
-            } else if (state.equals("Invalid and not updated")) {
-                ret.addAll(invalidAndNotUpdated);
-            } else {
-                throw new ValidationException(String.format("The audit state [%s] you have provided is wrong", state));
-            }
-        }
-        return createCorrectQuantityFacets(ret, retPaging, ff.getQuantity(), ff.getFrom());
+    public Paging<ProviderBundle> determineAuditState(Set<String> auditState, FacetFilter ff, Authentication auth) {
+        ff.addFilter("audit_state", commonMethods.getAuditStateFilter(auditState));
+        return getAll(ff, auth);
     }
 
     public Paging<ProviderBundle> createCorrectQuantityFacets(List<ProviderBundle> providerBundle, Paging<ProviderBundle> providerBundlePaging,
@@ -1193,25 +979,8 @@ public class ProviderManager extends ResourceManager<ProviderBundle> implements
         Objects.requireNonNull(cacheManager.getCache(CACHE_PROVIDERS)).clear();
 
         // Suspend Provider's resources
-        List<ServiceBundle> services = serviceBundleService.getResourceBundles(catalogueId, providerId, auth).getResults();
-        List<TrainingResourceBundle> trainingResources = trainingResourceService.getResourceBundles(catalogueId, providerId, auth).getResults();
-        List<InteroperabilityRecordBundle> interoperabilityRecords = interoperabilityRecordService.getInteroperabilityRecordBundles(catalogueId, providerId, auth).getResults();
-
-        if (services != null && !services.isEmpty()) {
-            for (ServiceBundle serviceBundle : services) {
-                serviceBundleService.suspend(serviceBundle.getId(), catalogueId, suspend, auth);
-            }
-        }
-        if (trainingResources != null && !trainingResources.isEmpty()) {
-            for (TrainingResourceBundle trainingResourceBundle : trainingResources) {
-                trainingResourceService.suspend(trainingResourceBundle.getId(), catalogueId, suspend, auth);
-            }
-        }
-        if (interoperabilityRecords != null && !interoperabilityRecords.isEmpty()) {
-            for (InteroperabilityRecordBundle interoperabilityRecordBundle : interoperabilityRecords) {
-                interoperabilityRecordService.suspend(interoperabilityRecordBundle.getId(), catalogueId, suspend, auth);
-            }
-        }
+        cascadeService.submit(suspend ? CascadeService.Action.SUSPEND : CascadeService.Action.UNSUSPEND,
+                catalogueId, providerId, auth);
 
         return providerBundle;
     }
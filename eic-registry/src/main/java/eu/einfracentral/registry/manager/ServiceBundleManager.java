@@ -6,11 +6,11 @@ import eu.einfracentral.exception.ResourceNotFoundException;
 import eu.einfracentral.exception.ValidationException;
 import eu.einfracentral.registry.service.*;
 import eu.einfracentral.service.IdCreator;
+import eu.einfracentral.service.LoggingInfoHistory;
 import eu.einfracentral.service.RegistrationMailService;
 import eu.einfracentral.service.SecurityService;
 import eu.einfracentral.utils.ObjectUtils;
 import eu.einfracentral.utils.ProviderResourcesCommonMethods;
-import eu.openminted.registry.core.domain.Browsing;
 import eu.openminted.registry.core.domain.FacetFilter;
 import eu.openminted.registry.core.domain.Paging;
 import eu.openminted.registry.core.domain.Resource;
@@ -59,6 +59,9 @@ public class ServiceBundleManager extends AbstractServiceBundleManager<ServiceBu
     @Value("${project.catalogue.name}")
     private String catalogueName;
 
+    @Autowired
+    private LoggingInfoHistory loggingInfoHistory;
+
     @Autowired
     public ServiceBundleManager(ProviderService<ProviderBundle, Authentication> providerService,
                                 IdCreator idCreator, @Lazy SecurityService securityService,
@@ -347,13 +350,7 @@ public class ServiceBundleManager extends AbstractServiceBundleManager<ServiceBu
         logger.trace("verifyResource with id: '{}' | status -> '{}' | active -> '{}'", id, status, active);
         String[] parts = id.split("\\.");
         String providerId = parts[0];
-        ServiceBundle serviceBundle = null;
-        List<ServiceBundle> serviceBundles = getResourceBundles(providerId, auth);
-        for (ServiceBundle service : serviceBundles) {
-            if (service.getService().getId().equals(id)) {
-                serviceBundle = service;
-            }
-        }
+        ServiceBundle serviceBundle = getProviderResource(providerId, "resource_internal_id", id, auth);
         if (serviceBundle == null) {
             throw new ValidationException(String.format("The Resource with id '%s' does not exist", id));
         }
@@ -593,26 +590,33 @@ public class ServiceBundleManager extends AbstractServiceBundleManager<ServiceBu
         return this.getAll(ff, securityService.getAdminAccess()).getResults().stream().map(ServiceBundle::getService).collect(Collectors.toList());
     }
 
-    //    @Override
-    public Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId) {
+    @Override
+    public Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId, int from, int quantity) {
         ServiceBundle serviceBundle;
         try {
             serviceBundle = get(id, catalogueId);
-            List<Resource> allResources = getResources(serviceBundle.getService().getId(), serviceBundle.getService().getCatalogueId()); // get all versions of a specific Service
-            allResources.sort(Comparator.comparing((Resource::getCreationDate)));
-            List<LoggingInfo> loggingInfoList = new ArrayList<>();
-            for (Resource resource : allResources) {
-                ServiceBundle service = deserialize(resource);
-                if (service.getLoggingInfo() != null) {
-                    loggingInfoList.addAll(service.getLoggingInfo());
-                }
-            }
-            loggingInfoList.sort(Comparator.comparing(LoggingInfo::getDate).reversed());
-            return new Browsing<>(loggingInfoList.size(), 0, loggingInfoList.size(), loggingInfoList, null);
         } catch (ResourceNotFoundException e) {
             logger.info(String.format("Resource with id [%s] not found", id));
+            return null;
+        }
+        if (!loggingInfoHistory.contains(getResourceType(), serviceBundle.getId())) {
+            // written before its history was kept
+            loggingInfoHistory.append(getResourceType(), serviceBundle.getId(), getLoggingInfoFromVersions(serviceBundle));
+        }
+        return loggingInfoHistory.get(getResourceType(), serviceBundle.getId(), from, quantity);
+    }
+
+    private List<LoggingInfo> getLoggingInfoFromVersions(ServiceBundle serviceBundle) {
+        List<Resource> allResources = getResources(serviceBundle.getService().getId(), serviceBundle.getService().getCatalogueId()); // get all versions of a specific Service
+        allResources.sort(Comparator.comparing((Resource::getCreationDate)));
+        List<LoggingInfo> loggingInfoList = new ArrayList<>();
+        for (Resource resource : allResources) {
+            ServiceBundle service = deserialize(resource);
+            if (service.getLoggingInfo() != null) {
+                loggingInfoList.addAll(service.getLoggingInfo());
+            }
         }
-        return null;
+        return loggingInfoList;
     }
 
     public void sendEmailNotificationsToProvidersWithOutdatedResources(String resourceId, Authentication auth) {
@@ -66,6 +66,10 @@ public class TrainingResourceManager extends ResourceManager<TrainingResourceBun
     @Autowired
     private SearchServiceEIC searchServiceEIC;
     @Autowired
+    private LoggingInfoHistory loggingInfoHistory;
+    @Autowired
+    private GenericResourceService genericResourceService;
+    @Autowired
     @Qualifier("trainingResourceSync")
     private final SynchronizerService<TrainingResource> synchronizerService;
     private final ProviderResourcesCommonMethods commonMethods;
@@ -408,13 +412,7 @@ public class TrainingResourceManager extends ResourceManager<TrainingResourceBun
         logger.trace("verifyResource with id: '{}' | status -> '{}' | active -> '{}'", id, status, active);
         String[] parts = id.split("\\.");
         String providerId = parts[0];
-        TrainingResourceBundle trainingResourceBundle = null;
-        List<TrainingResourceBundle> trainingResourceBundles = getResourceBundles(providerId, auth);
-        for (TrainingResourceBundle trainingResource : trainingResourceBundles) {
-            if (trainingResource.getTrainingResource().getId().equals(id)) {
-                trainingResourceBundle = trainingResource;
-            }
-        }
+        TrainingResourceBundle trainingResourceBundle = getProviderResource(providerId, "resource_internal_id", id, auth);
         if (trainingResourceBundle == null) {
             throw new ValidationException(String.format("The Training Resource with id '%s' does not exist", id));
         }
@@ -654,26 +652,33 @@ public class TrainingResourceManager extends ResourceManager<TrainingResourceBun
         return this.getAll(ff, null).getResults();
     }
 
-    //    @Override
-    public Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId) {
+    @Override
+    public Paging<LoggingInfo> getLoggingInfoHistory(String id, String catalogueId, int from, int quantity) {
         TrainingResourceBundle trainingResourceBundle;
         try {
             trainingResourceBundle = get(id, catalogueId);
-            List<Resource> allResources = getResources(trainingResourceBundle.getTrainingResource().getId(), trainingResourceBundle.getTrainingResource().getCatalogueId()); // get all versions of a specific Service
-            allResources.sort(Comparator.comparing((Resource::getCreationDate)));
-            List<LoggingInfo> loggingInfoList = new ArrayList<>();
-            for (Resource resource : allResources) {
-                TrainingResourceBundle trainingResource = deserialize(resource);
-                if (trainingResource.getLoggingInfo() != null) {
-                    loggingInfoList.addAll(trainingResource.getLoggingInfo());
-                }
-            }
-            loggingInfoList.sort(Comparator.comparing(LoggingInfo::getDate).reversed());
-            return new Browsing<>(loggingInfoList.size(), 0, loggingInfoList.size(), loggingInfoList, null);
         } catch (ResourceNotFoundException e) {
             logger.info(String.format("Training Resource with id [%s] not found", id));
+            return null;
         }
-        return null;
+        if (!loggingInfoHistory.contains(getResourceType(), trainingResourceBundle.getId())) {
+            // written before its history was kept
+            loggingInfoHistory.append(getResourceType(), trainingResourceBundle.getId(), getLoggingInfoFromVersions(trainingResourceBundle));
+        }
+        return loggingInfoHistory.get(getResourceType(), trainingResourceBundle.getId(), from, quantity);
+    }
+
+    private List<LoggingInfo> getLoggingInfoFromVersions(TrainingResourceBundle trainingResourceBundle) {
+        List<Resource> allResources = getResources(trainingResourceBundle.getTrainingResource().getId(), trainingResourceBundle.getTrainingResource().getCatalogueId()); // get all versions of a specific Service
+        allResources.sort(Comparator.comparing((Resource::getCreationDate)));
+        List<LoggingInfo> loggingInfoList = new ArrayList<>();
+        for (Resource resource : allResources) {
+            TrainingResourceBundle trainingResource = deserialize(resource);
+            if (trainingResource.getLoggingInfo() != null) {
+                loggingInfoList.addAll(trainingResource.getLoggingInfo());
+            }
+        }
+        return loggingInfoList;
     }
 
     public void sendEmailNotificationsToProvidersWithOutdatedResources(String resourceId, Authentication auth) {
@@ -711,12 +716,15 @@ public class TrainingResourceManager extends ResourceManager<TrainingResourceBun
     }
 
     private TrainingResourceBundle checkIdExistanceInOtherCatalogues(String id) {
-        FacetFilter ff = new FacetFilter();
-        ff.setQuantity(maxQuantity);
-        ff.addFilter("resource_internal_id", id);
-        List<TrainingResourceBundle> allResources = getAll(ff, null).getResults();
-        if (allResources.size() > 0) {
-            return allResources.get(0);
+        // locate the catalogues holding the id first, so missing ids cost a single cached lookup
+        for (String catalogueId : genericResourceService.locate(getResourceType(), id)) {
+            Resource resource = getResource(id, catalogueId);
+            if (resource != null) {
+                TrainingResourceBundle bundle = deserialize(resource);
+                if (bundle.isActive()) {
+                    return bundle;
+                }
+            }
         }
         return null;
     }
@@ -828,6 +836,15 @@ public class TrainingResourceManager extends ResourceManager<TrainingResourceBun
 
     @Override
     public Browsing<TrainingResourceBundle> getAll(FacetFilter ff, Authentication auth) {
+        updateFacetFilterConsideringTheAuthorization(ff, auth);
+
+        ff.setBrowseBy(browseBy);
+        ff.setResourceType(getResourceType());
+
+        return getMatchingResources(ff);
+    }
+
+    private void updateFacetFilterConsideringTheAuthorization(FacetFilter ff, Authentication auth) {
         // if user is Unauthorized, return active/latest ONLY
         if (auth == null) {
             ff.addFilter("active", true);
@@ -841,11 +858,6 @@ public class TrainingResourceManager extends ResourceManager<TrainingResourceBun
                 ff.addFilter("published", false);
             }
         }
-
-        ff.setBrowseBy(browseBy);
-        ff.setResourceType(getResourceType());
-
-        return getMatchingResources(ff);
     }
 
     @Override
@@ -930,39 +942,41 @@ public class TrainingResourceManager extends ResourceManager<TrainingResourceBun
     @Override
     public Paging<TrainingResourceBundle> getRandomResources(FacetFilter ff, String auditingInterval, Authentication auth) {
         FacetFilter facetFilter = new FacetFilter();
-        facetFilter.setQuantity(maxQuantity);
+        facetFilter.setResourceType(getResourceType());
+        facetFilter.setQuantity(ff.getQuantity());
         facetFilter.addFilter("status", "approved resource");
         facetFilter.addFilter("published", "false");
-        Browsing<TrainingResourceBundle> trainingResourceBrowsing = getAll(facetFilter, auth);
-        List<TrainingResourceBundle> trainingResourcesToBeAudited = new ArrayList<>();
-        long todayEpochTime = System.currentTimeMillis();
-        long interval = Instant.ofEpochMilli(todayEpochTime).atZone(ZoneId.systemDefault()).minusMonths(Integer.parseInt(auditingInterval)).toEpochSecond();
-        for (TrainingResourceBundle trainingResourceBundle : trainingResourceBrowsing.getResults()) {
-            if (trainingResourceBundle.getLatestAuditInfo() != null) {
-                if (Long.parseLong(trainingResourceBundle.getLatestAuditInfo().getDate()) > interval) {
-                    trainingResourcesToBeAudited.add(trainingResourceBundle);
-                }
-            }
-        }
-        Collections.shuffle(trainingResourcesToBeAudited);
-        for (int i = trainingResourcesToBeAudited.size() - 1; i > ff.getQuantity() - 1; i--) {
-            trainingResourcesToBeAudited.remove(i);
-        }
-        return new Browsing<>(trainingResourcesToBeAudited.size(), 0, trainingResourcesToBeAudited.size(), trainingResourcesToBeAudited, trainingResourceBrowsing.getFacets());
+        long auditedSince = Instant.now().atZone(ZoneId.systemDefault()).minusMonths(Integer.parseInt(auditingInterval)).toInstant().toEpochMilli();
+        facetFilter.addFilter(SearchServiceEIC.NOT_AUDITED_SINCE, String.valueOf(auditedSince));
+        return genericResourceService.sample(facetFilter, "resource_organisation", System.nanoTime());
     }
 
     @Override
     public TrainingResourceBundle getResourceTemplate(String providerId, Authentication auth) {
+        return getProviderResource(providerId, "status", vocabularyService.get("pending resource").getId(), auth);
+    }
+
+    /**
+     * Finds the Training Resource of a Provider in the default catalogue having the given value in an index field,
+     * with a one-hit search.
+     *
+     * @param providerId the Provider id
+     * @param field      the index field
+     * @param value      the value
+     * @param auth       the authentication, limiting non-providers to active resources
+     * @return the Training Resource, or null if there is none
+     */
+    private TrainingResourceBundle getProviderResource(String providerId, String field, Object value, Authentication auth) {
         FacetFilter ff = new FacetFilter();
+        ff.setResourceType(getResourceType());
         ff.addFilter("resource_organisation", providerId);
         ff.addFilter("catalogue_id", catalogueName);
-        List<TrainingResourceBundle> allProviderTrainingResources = getAll(ff, auth).getResults();
-        for (TrainingResourceBundle trainingResourceBundle : allProviderTrainingResources) {
-            if (trainingResourceBundle.getStatus().equals(vocabularyService.get("pending resource").getId())) {
-                return trainingResourceBundle;
-            }
-        }
-        return null;
+        ff.addFilter("published", false);
+        ff.addFilter(field, value);
+        ff.setQuantity(1);
+        updateFacetFilterConsideringTheAuthorization(ff, auth);
+        List<Resource> resources = searchServiceEIC.search(ff).getResults();
+        return resources.isEmpty() ? null : deserialize(resources.get(0));
     }
 
     public Paging<Bundle<?>> getAllForAdminWithAuditStates(FacetFilter ff, Set<String> auditState) {
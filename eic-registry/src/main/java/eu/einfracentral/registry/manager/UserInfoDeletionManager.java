@@ -0,0 +1,274 @@
+package eu.einfracentral.registry.manager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import eu.einfracentral.domain.*;
+import eu.einfracentral.dto.UserInfoDeletionJob;
+import eu.einfracentral.exception.ValidationException;
+import eu.einfracentral.registry.service.UserInfoDeletionService;
+import eu.einfracentral.service.MembershipIndex;
+import eu.einfracentral.service.SecurityService;
+import eu.einfracentral.service.SynchronizerService;
+import eu.einfracentral.utils.AuthenticationInfo;
+import eu.einfracentral.utils.JmsService;
+import eu.openminted.registry.core.domain.FacetFilter;
+import eu.openminted.registry.core.domain.Paging;
+import eu.openminted.registry.core.domain.Resource;
+import eu.openminted.registry.core.service.ParserService;
+import eu.openminted.registry.core.service.ResourceService;
+import eu.openminted.registry.core.service.SearchService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static eu.einfracentral.config.CacheConfig.*;
+
+/**
+ * Erases the info of a user in a background job.
+ * <p>
+ * The favourite and rating events of the user are found with a single search and deleted, and the user is removed
+ * from the users of their Providers and of the public copies of those by rewriting only the stored resources, without
+ * going through validation, mails and the rest of the update pipeline. A Provider the user is the sole Admin of is
+ * left unchanged, both when submitting and when running the job. Only the cache entries holding the affected
+ * events and Providers are evicted. Progress is reported through {@link #get(String, Authentication)}.
+ */
+@Component
+public class UserInfoDeletionManager implements UserInfoDeletionService {
+
+    private static final Logger logger = LogManager.getLogger(UserInfoDeletionManager.class);
+
+    private static final String EVENT = "event";
+    private static final String PROVIDER = "provider";
+
+    private final SearchService searchService;
+    private final ResourceService resourceService;
+    private final ParserService parserPool;
+    private final SecurityService securityService;
+    private final SynchronizerService<Provider> providerSync;
+    private final JmsService jmsService;
+    private final CacheManager cacheManager;
+    private final MembershipIndex membershipIndex;
+    private final int maxQuantity;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("user-info-deletion-"));
+    private final Cache<String, UserInfoDeletionJob> jobs = CacheBuilder.newBuilder()
+            .expireAfterWrite(24, TimeUnit.HOURS)
+            .build();
+
+    public UserInfoDeletionManager(@Qualifier("eicSearchService") SearchService searchService,
+                                   ResourceService resourceService, ParserService parserPool,
+                                   @Lazy SecurityService securityService,
+                                   @Qualifier("providerSync") SynchronizerService<Provider> providerSync,
+                                   JmsService jmsService, CacheManager cacheManager, MembershipIndex membershipIndex,
+                                   @Value("${elastic.index.max_result_window:10000}") int maxQuantity) {
+        this.searchService = searchService;
+        this.resourceService = resourceService;
+        this.parserPool = parserPool;
+        this.securityService = securityService;
+        this.providerSync = providerSync;
+        this.jmsService = jmsService;
+        this.cacheManager = cacheManager;
+        this.membershipIndex = membershipIndex;
+        this.maxQuantity = maxQuantity;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public UserInfoDeletionJob submit(Authentication authentication) {
+        User user = User.of(authentication);
+        try {
+            for (Resource resource : findProviders(user, false)) {
+                ProviderBundle providerBundle = parserPool.deserialize(resource, ProviderBundle.class);
+                if (leavesNoAdmins(providerBundle.getProvider().getUsers(), user)) {
+                    throw new ValidationException(String.format("Your user info cannot be deleted, because you are the solely Admin of the Provider [%s]. " +
+                            "You need to delete your Provider first or add more Admins.", providerBundle.getProvider().getName()));
+                }
+            }
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+        UserInfoDeletionJob job = new UserInfoDeletionJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setUserId(user.getId());
+        job.setStatus(UserInfoDeletionJob.Status.QUEUED);
+        job.setCreated(System.currentTimeMillis());
+        jobs.put(job.getId(), job);
+        String sub = AuthenticationInfo.getSub(authentication);
+        logger.info("Submitting job [{}]: deleting the user info of '{}'", job.getId(), user.getId());
+        executor.execute(() -> run(job, sub, user));
+        return job;
+    }
+
+    @Override
+    public UserInfoDeletionJob get(String jobId, Authentication authentication) {
+        UserInfoDeletionJob job = jobs.getIfPresent(jobId);
+        if (job == null || (!job.getUserId().equals(User.of(authentication).getId())
+                && !securityService.hasRole(authentication, "ROLE_ADMIN"))) {
+            return null;
+        }
+        return job;
+    }
+
+    private void run(UserInfoDeletionJob job, String sub, User user) {
+        job.setStarted(System.currentTimeMillis());
+        job.setStatus(UserInfoDeletionJob.Status.RUNNING);
+        Set<String> deletedEvents = new HashSet<>();
+        Set<String> services = new HashSet<>();
+        Set<String> updatedProviders = new HashSet<>();
+        try {
+            deleteEvents(job, sub, deletedEvents, services);
+            removeFromProviders(job, user, updatedProviders);
+            job.setStatus(UserInfoDeletionJob.Status.COMPLETED);
+        } catch (RuntimeException | UnknownHostException e) {
+            logger.error("Job [{}] failed", job.getId(), e);
+            job.setError(e.getMessage());
+            job.setStatus(UserInfoDeletionJob.Status.FAILED);
+        } finally {
+            job.setFinished(System.currentTimeMillis());
+            evict(CACHE_EVENTS, deletedEvents);
+            evict(CACHE_SERVICE_EVENTS, services);
+            evict(CACHE_PROVIDERS, updatedProviders);
+            logger.info("Job [{}] {}: {} events deleted, {} Providers updated, {} failed, in {} ms", job.getId(),
+                    job.getStatus(), job.getDeletedEvents(), job.getUpdatedProviders(), job.getFailed(),
+                    job.getFinished() - job.getStarted());
+        }
+    }
+
+    private void deleteEvents(UserInfoDeletionJob job, String sub, Set<String> deleted, Set<String> services)
+            throws UnknownHostException {
+        FacetFilter ff = new FacetFilter();
+        ff.setResourceType(EVENT);
+        ff.addFilter("event_user", sub);
+        ff.addFilter("type", Arrays.asList(Event.UserActionType.FAVOURITE.getKey(), Event.UserActionType.RATING.getKey()));
+        ff.setQuantity(maxQuantity);
+        for (Resource resource : searchService.search(ff).getResults()) {
+            try {
+                Event event = parserPool.deserialize(resource, Event.class);
+                resourceService.deleteResource(resource.getId());
+                deleted.add(event.getId());
+                services.add(event.getService());
+                job.setDeletedEvents(job.getDeletedEvents() + 1);
+            } catch (RuntimeException e) {
+                job.setFailed(job.getFailed() + 1);
+                logger.error("Job [{}]: could not delete event [{}]", job.getId(), resource.getId(), e);
+            }
+        }
+    }
+
+    private void removeFromProviders(UserInfoDeletionJob job, User user, Set<String> updated) throws UnknownHostException {
+        for (Resource resource : findProviders(user, null)) {
+            try {
+                ProviderBundle providerBundle = parserPool.deserialize(resource, ProviderBundle.class);
+                List<User> users = providerBundle.getProvider().getUsers();
+                // admins may have been removed since the job was submitted
+                if (leavesNoAdmins(users, user)) {
+                    job.setFailed(job.getFailed() + 1);
+                    logger.warn("Job [{}]: the user was not removed from Provider [{}], it would be left without Admins",
+                            job.getId(), resource.getId());
+                    continue;
+                }
+                if (users == null || !users.removeIf(u -> isUser(u, user))) {
+                    continue;
+                }
+                resource.setPayload(parserPool.serialize(providerBundle, ParserService.ParserServiceTypes.XML));
+                resourceService.updateResource(resource);
+                // the resource is written directly, bypassing the aspects keeping the index up to date
+                membershipIndex.putProvider(providerBundle);
+                if (providerBundle.getMetadata() != null && providerBundle.getMetadata().isPublished()) {
+                    jmsService.convertAndSendTopic("provider.update", providerBundle);
+                } else {
+                    providerSync.syncUpdate(providerBundle.getProvider());
+                }
+                updated.add(providerBundle.getId());
+                job.setUpdatedProviders(job.getUpdatedProviders() + 1);
+            } catch (RuntimeException e) {
+                job.setFailed(job.getFailed() + 1);
+                logger.error("Job [{}]: could not remove the user from Provider [{}]", job.getId(), resource.getId(), e);
+            }
+        }
+    }
+
+    // Providers listing the user by email, or by id under an older email
+    private Collection<Resource> findProviders(User user, Boolean published) throws UnknownHostException {
+        Map<String, Resource> resources = new LinkedHashMap<>();
+        for (Resource resource : searchService.search(providerFilter("users", user.getEmail(), published)).getResults()) {
+            resources.put(resource.getId(), resource);
+        }
+        if (user.getId() != null && !"".equals(user.getId())) {
+            for (Resource resource : searchService.search(providerFilter("user_ids", user.getId(), published)).getResults()) {
+                resources.putIfAbsent(resource.getId(), resource);
+            }
+        }
+        return resources.values();
+    }
+
+    private FacetFilter providerFilter(String field, String value, Boolean published) {
+        FacetFilter ff = new FacetFilter();
+        ff.setResourceType(PROVIDER);
+        ff.addFilter(field, value);
+        if (published != null) {
+            ff.addFilter("published", published);
+        }
+        ff.setQuantity(maxQuantity);
+        return ff;
+    }
+
+    // true if the user is among the users and removing them would leave none
+    static boolean leavesNoAdmins(List<User> users, User user) {
+        return users != null && !users.isEmpty() && users.stream().allMatch(u -> isUser(u, user));
+    }
+
+    // users are matched by id when they have one, by email otherwise
+    static boolean isUser(User providerUser, User user) {
+        if (providerUser.getId() != null && !"".equals(providerUser.getId())) {
+            return providerUser.getId().equals(user.getId());
+        }
+        return providerUser.getEmail() == null || "".equals(providerUser.getEmail())
+                || providerUser.getEmail().equalsIgnoreCase(user.getEmail());
+    }
+
+    private void evict(String cacheName, Set<String> ids) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || ids.isEmpty()) {
+            return;
+        }
+        if (cache.getNativeCache() instanceof Map) {
+            ((Map<?, ?>) cache.getNativeCache()).values().removeIf(value -> references(value, ids));
+        } else {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return whether a cached value holds a resource (or, for maps, a key) with one of the given ids
+     */
+    static boolean references(Object value, Set<String> ids) {
+        if (value instanceof Identifiable) {
+            return ids.contains(((Identifiable) value).getId());
+        } else if (value instanceof Paging) {
+            return references(((Paging<?>) value).getResults(), ids);
+        } else if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().anyMatch(v -> references(v, ids));
+        } else if (value instanceof Map) {
+            return ((Map<?, ?>) value).keySet().stream().anyMatch(ids::contains);
+        }
+        return false;
+    }
+}
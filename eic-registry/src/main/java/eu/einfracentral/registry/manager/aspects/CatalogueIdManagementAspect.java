@@ -0,0 +1,41 @@
+package eu.einfracentral.registry.manager.aspects;
+
+import eu.einfracentral.domain.CatalogueBundle;
+import eu.einfracentral.service.CatalogueIdRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link CatalogueIdRegistry} up to date with the catalogues being written.
+ */
+@Aspect
+@Component
+public class CatalogueIdManagementAspect {
+
+    private static final Logger logger = LogManager.getLogger(CatalogueIdManagementAspect.class);
+
+    private final CatalogueIdRegistry catalogueIdRegistry;
+
+    public CatalogueIdManagementAspect(CatalogueIdRegistry catalogueIdRegistry) {
+        this.catalogueIdRegistry = catalogueIdRegistry;
+    }
+
+    @AfterReturning(pointcut = "execution(* eu.einfracentral.registry.manager.CatalogueManager.add(..))" +
+            "|| execution(* eu.einfracentral.registry.manager.CatalogueManager.update(..))" +
+            "|| execution(* eu.einfracentral.registry.manager.CatalogueManager.verifyCatalogue(..))" +
+            "|| execution(* eu.einfracentral.registry.manager.CatalogueManager.publish(..))" +
+            "|| execution(* eu.einfracentral.registry.manager.CatalogueManager.suspend(..))",
+            returning = "catalogueBundle")
+    public void registerCatalogue(final CatalogueBundle catalogueBundle) {
+        logger.trace("Registering the id of Catalogue '{}'", catalogueBundle.getId());
+        catalogueIdRegistry.putCatalogue(catalogueBundle);
+    }
+
+    @AfterReturning("execution(* eu.einfracentral.registry.manager.CatalogueManager.delete(..)) && args(catalogueBundle)")
+    public void removeCatalogue(final CatalogueBundle catalogueBundle) {
+        catalogueIdRegistry.removeCatalogue(catalogueBundle.getId());
+    }
+}
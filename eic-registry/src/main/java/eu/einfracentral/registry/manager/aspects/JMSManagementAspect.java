@@ -13,8 +13,8 @@ import org.aspectj.lang.annotation.After;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import eu.einfracentral.utils.JmsService;
+import eu.einfracentral.utils.PropagationExecutor;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 @Aspect
@@ -25,15 +25,17 @@ public class JMSManagementAspect {
     private final JmsService jmsService;
     private final PublicHelpdeskManager publicHelpdeskManager;
     private final PublicMonitoringManager publicMonitoringManager;
+    private final PropagationExecutor propagationExecutor;
 
     public JMSManagementAspect(JmsService jmsService, @Lazy PublicHelpdeskManager publicHelpdeskManager,
-                               @Lazy PublicMonitoringManager publicMonitoringManager) {
+                               @Lazy PublicMonitoringManager publicMonitoringManager,
+                               PropagationExecutor propagationExecutor) {
         this.jmsService = jmsService;
+        this.propagationExecutor = propagationExecutor;
         this.publicHelpdeskManager = publicHelpdeskManager;
         this.publicMonitoringManager = publicMonitoringManager;
     }
 
-    @Async
     @AfterReturning(pointcut = "(execution(* eu.einfracentral.registry.manager.CatalogueManager.add(..)))" +
             "|| (execution(* eu.einfracentral.registry.manager.CatalogueManager.verifyCatalogue(..)))",
             returning = "catalogueBundle")
@@ -43,7 +45,6 @@ public class JMSManagementAspect {
         }
     }
 
-    @Async
     @AfterReturning(pointcut = "(execution(* eu.einfracentral.registry.manager.CatalogueManager.update(..)))" +
             "|| (execution(* eu.einfracentral.registry.manager.CatalogueManager.update(..)))" +
             "|| (execution(* eu.einfracentral.registry.manager.CatalogueManager.publish(..)))" +
@@ -55,67 +56,70 @@ public class JMSManagementAspect {
         }
     }
 
-    @Async
     @After("execution(* eu.einfracentral.registry.manager.CatalogueManager.delete(..)))")
     public void sendJMSForCatalogueDeletion(JoinPoint joinPoint) {
         jmsService.convertAndSendTopic("catalogue.delete", joinPoint.getArgs()[0]);
     }
 
-    @Async
     @AfterReturning(pointcut = "(execution(* eu.einfracentral.registry.manager.HelpdeskManager.add(..)))",
             returning = "helpdeskBundle")
     public void addHelpdeskAsPublic(final HelpdeskBundle helpdeskBundle) {
-        try {
-            publicHelpdeskManager.get(String.format("%s.%s", helpdeskBundle.getCatalogueId(), helpdeskBundle.getId()));
-        } catch (ResourceException | ResourceNotFoundException e) {
-            publicHelpdeskManager.add(ObjectUtils.clone(helpdeskBundle), null);
-        }
+        propagationExecutor.execute("helpdesk:" + helpdeskBundle.getId(), PropagationExecutor.Type.ADD, () -> {
+            try {
+                publicHelpdeskManager.get(String.format("%s.%s", helpdeskBundle.getCatalogueId(), helpdeskBundle.getId()));
+            } catch (ResourceException | ResourceNotFoundException e) {
+                publicHelpdeskManager.add(ObjectUtils.clone(helpdeskBundle), null);
+            }
+        });
     }
 
-    @Async
     @AfterReturning(pointcut = "execution(* eu.einfracentral.registry.manager.HelpdeskManager.update(..)) " +
             "&& args(helpdeskBundle,..)", returning = "ret", argNames = "helpdeskBundle,ret")
     public void updatePublicHelpdesk(HelpdeskBundle helpdeskBundle, HelpdeskBundle ret) {
-        try {
-            if (!ret.equals(helpdeskBundle)) {
+        if (ret.equals(helpdeskBundle)) {
+            return;
+        }
+        propagationExecutor.execute("helpdesk:" + helpdeskBundle.getId(), PropagationExecutor.Type.UPDATE, () -> {
+            try {
                 publicHelpdeskManager.update(ObjectUtils.clone(helpdeskBundle), null);
-            }
-        } catch (ResourceException | ResourceNotFoundException ignore) {}
+            } catch (ResourceException | ResourceNotFoundException ignore) {}
+        });
     }
 
-    @Async
     @After("execution(* eu.einfracentral.registry.manager.HelpdeskManager.delete(..)))")
     public void deletePublicHelpdesk(JoinPoint joinPoint) {
         HelpdeskBundle helpdeskBundle = (HelpdeskBundle) joinPoint.getArgs()[0];
-        publicHelpdeskManager.delete(helpdeskBundle);
+        propagationExecutor.execute("helpdesk:" + helpdeskBundle.getId(), PropagationExecutor.Type.DELETE, () -> publicHelpdeskManager.delete(helpdeskBundle));
     }
 
-    @Async
     @AfterReturning(pointcut = "(execution(* eu.einfracentral.registry.manager.MonitoringManager.add(..)))",
             returning = "monitoringBundle")
     public void addMonitoringAsPublic(final MonitoringBundle monitoringBundle) {
-        try {
-            publicMonitoringManager.get(String.format("%s.%s", monitoringBundle.getCatalogueId(), monitoringBundle.getId()));
-        } catch (ResourceException | ResourceNotFoundException e) {
-            publicMonitoringManager.add(ObjectUtils.clone(monitoringBundle), null);
-        }
+        propagationExecutor.execute("monitoring:" + monitoringBundle.getId(), PropagationExecutor.Type.ADD, () -> {
+            try {
+                publicMonitoringManager.get(String.format("%s.%s", monitoringBundle.getCatalogueId(), monitoringBundle.getId()));
+            } catch (ResourceException | ResourceNotFoundException e) {
+                publicMonitoringManager.add(ObjectUtils.clone(monitoringBundle), null);
+            }
+        });
     }
 
-    @Async
     @AfterReturning(pointcut = "execution(* eu.einfracentral.registry.manager.MonitoringManager.update(..)) " +
             "&& args(monitoringBundle,..)", returning = "ret", argNames = "monitoringBundle,ret")
     public void updatePublicMonitoring(MonitoringBundle monitoringBundle, MonitoringBundle ret) {
-        try {
-            if (!ret.equals(monitoringBundle)) {
+        if (ret.equals(monitoringBundle)) {
+            return;
+        }
+        propagationExecutor.execute("monitoring:" + monitoringBundle.getId(), PropagationExecutor.Type.UPDATE, () -> {
+            try {
                 publicMonitoringManager.update(ObjectUtils.clone(monitoringBundle), null);
-            }
-        } catch (ResourceException | ResourceNotFoundException ignore) {}
+            } catch (ResourceException | ResourceNotFoundException ignore) {}
+        });
     }
 
-    @Async
     @After("execution(* eu.einfracentral.registry.manager.MonitoringManager.delete(..)))")
     public void deletePublicMonitoring(JoinPoint joinPoint) {
         MonitoringBundle monitoringBundle = (MonitoringBundle) joinPoint.getArgs()[0];
-        publicMonitoringManager.delete(monitoringBundle);
+        propagationExecutor.execute("monitoring:" + monitoringBundle.getId(), PropagationExecutor.Type.DELETE, () -> publicMonitoringManager.delete(monitoringBundle));
     }
 }
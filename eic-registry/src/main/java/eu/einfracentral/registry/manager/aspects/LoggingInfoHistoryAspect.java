@@ -0,0 +1,148 @@
+package eu.einfracentral.registry.manager.aspects;
+
+import eu.einfracentral.domain.Bundle;
+import eu.einfracentral.domain.LoggingInfo;
+import eu.einfracentral.service.GenericResourceService;
+import eu.einfracentral.service.LoggingInfoHistory;
+import eu.openminted.registry.core.domain.Resource;
+import eu.openminted.registry.core.domain.ResourceType;
+import eu.openminted.registry.core.service.ParserService;
+import eu.openminted.registry.core.service.ResourceTypeService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Appends the logging info of every internal resource being written to the {@link LoggingInfoHistory} and bounds the
+ * logging info stored inline to a recent window (see {@link LoggingInfo#retainRecent(List, int)}).
+ * <p>
+ * The audit state derived from the logging info is stored in the resource too (see {@link Bundle#getAuditState()}),
+ * so it is indexed and resources can be filtered by it.
+ * <p>
+ * Pending resources share the history of the resources they become. The history is appended only once the resource
+ * has been written, so failed writes leave no entries behind. An internal resource is only trimmed of the entries its
+ * history already held before the write, so entries not yet stored stay inline until a later append succeeds.
+ */
+@Aspect
+@Component
+public class LoggingInfoHistoryAspect {
+
+    private static final Logger logger = LogManager.getLogger(LoggingInfoHistoryAspect.class);
+
+    // resource types with logging info, mapped to the resource type their history is stored under
+    private static final Map<String, String> HISTORY_TYPES = new HashMap<>();
+
+    static {
+        HISTORY_TYPES.put("catalogue", "catalogue");
+        HISTORY_TYPES.put("provider", "provider");
+        HISTORY_TYPES.put("pending_provider", "provider");
+        HISTORY_TYPES.put("service", "service");
+        HISTORY_TYPES.put("pending_service", "service");
+        HISTORY_TYPES.put("training_resource", "training_resource");
+        HISTORY_TYPES.put("interoperability_record", "interoperability_record");
+        HISTORY_TYPES.put("datasource", "datasource");
+        HISTORY_TYPES.put("helpdesk", "helpdesk");
+        HISTORY_TYPES.put("monitoring", "monitoring");
+        HISTORY_TYPES.put("resource_interoperability_record", "resource_interoperability_record");
+    }
+
+    @Value("${loggingInfo.inline.window:20}")
+    private int inlineWindow;
+
+    private final LoggingInfoHistory loggingInfoHistory;
+    private final ParserService parserPool;
+    private final ResourceTypeService resourceTypeService;
+    private final GenericResourceService genericResourceService;
+
+    public LoggingInfoHistoryAspect(LoggingInfoHistory loggingInfoHistory, ParserService parserPool,
+                                    ResourceTypeService resourceTypeService,
+                                    @Lazy GenericResourceService genericResourceService) {
+        this.loggingInfoHistory = loggingInfoHistory;
+        this.parserPool = parserPool;
+        this.resourceTypeService = resourceTypeService;
+        this.genericResourceService = genericResourceService;
+    }
+
+    /**
+     * @return the resource types whose logging info is recorded and trimmed
+     */
+    public static Set<String> getResourceTypes() {
+        return Collections.unmodifiableSet(HISTORY_TYPES.keySet());
+    }
+
+    /**
+     * @return the audit state of a resource with the given logging info, or null if it cannot be determined
+     */
+    public static String auditState(List<LoggingInfo> loggingInfo) {
+        if (loggingInfo == null) {
+            return null;
+        }
+        try {
+            return LoggingInfo.createAuditVocabularyStatuses(new ArrayList<>(loggingInfo));
+        } catch (RuntimeException e) { // entries without date or type
+            return null;
+        }
+    }
+
+    @Around("(execution(* eu.openminted.registry.core.service.ResourceService.addResource(..))" +
+            "|| execution(* eu.openminted.registry.core.service.ResourceService.updateResource(..)))" +
+            "&& args(resource)")
+    public Object appendLoggingInfo(ProceedingJoinPoint pjp, final Resource resource) throws Throwable {
+        String resourceType = resource.getResourceType() != null ? resource.getResourceType().getName() : resource.getResourceTypeName();
+        String historyType = HISTORY_TYPES.get(resourceType);
+        if (historyType == null || resource.getPayload() == null) {
+            return pjp.proceed();
+        }
+        // the full logging info, appended to the history once the resource is written
+        List<LoggingInfo> history = null;
+        String resourceId = resource.getId();
+        try {
+            Bundle<?> bundle = (Bundle<?>) parserPool.deserialize(resource, genericResourceService.getClassFromResourceType(resourceType));
+            if (bundle != null && bundle.getLoggingInfo() != null) {
+                boolean published = bundle.getMetadata() != null && bundle.getMetadata().isPublished();
+                if (!published) {
+                    history = new ArrayList<>(bundle.getLoggingInfo());
+                    resourceId = bundle.getId();
+                }
+                boolean changed = false;
+                if (bundle.getLoggingInfo().size() > inlineWindow) {
+                    // published copies hold the entries of their internal resource, whose history covers them
+                    Long storedUntil = published ? Long.valueOf(Long.MAX_VALUE) : loggingInfoHistory.getLatestDate(historyType, bundle.getId());
+                    if (storedUntil != null) {
+                        List<LoggingInfo> retained = LoggingInfo.retainRecent(bundle.getLoggingInfo(), inlineWindow, storedUntil);
+                        changed = retained.size() < bundle.getLoggingInfo().size();
+                        bundle.setLoggingInfo(retained);
+                    }
+                }
+                String auditState = auditState(bundle.getLoggingInfo());
+                if (!Objects.equals(auditState, bundle.getAuditState())) {
+                    bundle.setAuditState(auditState);
+                    changed = true;
+                }
+                if (changed) {
+                    ResourceType type = resource.getResourceType() != null ? resource.getResourceType() : resourceTypeService.getResourceType(resourceType);
+                    resource.setPayload(parserPool.serialize(bundle, ParserService.ParserServiceTypes.fromString(type.getPayloadType())));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not prepare the logging info of {} '{}'", resourceType, resource.getId(), e);
+        }
+        Object ret = pjp.proceed();
+        if (history != null) {
+            try {
+                loggingInfoHistory.append(historyType, resourceId, history);
+            } catch (RuntimeException e) {
+                // the entries not stored yet are kept inline and appended on the next write
+                logger.warn("Could not append the logging info of {} '{}' to its history", resourceType, resourceId, e);
+            }
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,87 @@
+package eu.einfracentral.registry.manager.aspects;
+
+import eu.einfracentral.domain.CatalogueBundle;
+import eu.einfracentral.domain.ProviderBundle;
+import eu.einfracentral.service.MembershipIndex;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link MembershipIndex} up to date with the users of the providers and catalogues being written.
+ */
+@Aspect
+@Component
+public class MembershipManagementAspect {
+
+    private static final Logger logger = LogManager.getLogger(MembershipManagementAspect.class);
+
+    private final MembershipIndex membershipIndex;
+
+    public MembershipManagementAspect(MembershipIndex membershipIndex) {
+        this.membershipIndex = membershipIndex;
+    }
+
+    @AfterReturning(pointcut = "execution(* eu.einfracentral.registry.manager.ProviderManager.add(..))" +
+            "|| execution(* eu.einfracentral.registry.manager.ProviderManager.update(..))" +
+            "|| execution(* eu.einfracentral.registry.manager.PublicProviderManager.add(..))" +
+            "|| execution(* eu.einfracentral.registry.manager.PublicProviderManager.update(..))",
+            returning = "providerBundle")
+    public void indexProvider(final ProviderBundle providerBundle) {
+        logger.trace("Indexing the users of Provider '{}'", providerBundle.getId());
+        membershipIndex.putProvider(providerBundle);
+    }
+
+    @AfterReturning(pointcut = "execution(* eu.einfracentral.registry.manager.PendingProviderManager.add(..))" +
+            "|| execution(* eu.einfracentral.registry.manager.PendingProviderManager.update(..))",
+            returning = "providerBundle")
+    public void indexPendingProvider(final ProviderBundle providerBundle) {
+        logger.trace("Indexing the users of Pending Provider '{}'", providerBundle.getId());
+        membershipIndex.putPendingProvider(providerBundle);
+    }
+
+    @AfterReturning(pointcut = "execution(* eu.einfracentral.registry.manager.PendingProviderManager.transformToPending(..))",
+            returning = "providerBundle")
+    public void indexProviderTransformedToPending(final ProviderBundle providerBundle) {
+        membershipIndex.removeProvider(providerBundle.getProvider().getCatalogueId(), providerBundle.getId());
+        membershipIndex.putPendingProvider(providerBundle);
+    }
+
+    @AfterReturning(pointcut = "execution(* eu.einfracentral.registry.manager.PendingProviderManager.transformToActive(..))",
+            returning = "providerBundle")
+    public void indexProviderTransformedToActive(final ProviderBundle providerBundle) {
+        membershipIndex.removePendingProvider(providerBundle.getId());
+        membershipIndex.putProvider(providerBundle);
+    }
+
+    @AfterReturning("execution(* eu.einfracentral.registry.manager.ProviderManager.delete(..)) && args(providerBundle)")
+    public void removeProvider(final ProviderBundle providerBundle) {
+        membershipIndex.removeProvider(providerBundle.getProvider().getCatalogueId(), providerBundle.getId());
+    }
+
+    @AfterReturning("execution(* eu.einfracentral.registry.manager.PublicProviderManager.delete(..)) && args(providerBundle)")
+    public void removePublicProvider(final ProviderBundle providerBundle) {
+        String catalogueId = providerBundle.getProvider().getCatalogueId();
+        membershipIndex.removeProvider(catalogueId, String.format("%s.%s", catalogueId, providerBundle.getId()));
+    }
+
+    @AfterReturning("execution(* eu.einfracentral.registry.manager.PendingProviderManager.delete(..)) && args(providerBundle)")
+    public void removePendingProvider(final ProviderBundle providerBundle) {
+        membershipIndex.removePendingProvider(providerBundle.getId());
+    }
+
+    @AfterReturning(pointcut = "execution(* eu.einfracentral.registry.manager.CatalogueManager.add(..))" +
+            "|| execution(* eu.einfracentral.registry.manager.CatalogueManager.update(..))",
+            returning = "catalogueBundle")
+    public void indexCatalogue(final CatalogueBundle catalogueBundle) {
+        logger.trace("Indexing the users of Catalogue '{}'", catalogueBundle.getId());
+        membershipIndex.putCatalogue(catalogueBundle);
+    }
+
+    @AfterReturning("execution(* eu.einfracentral.registry.manager.CatalogueManager.delete(..)) && args(catalogueBundle)")
+    public void removeCatalogue(final CatalogueBundle catalogueBundle) {
+        membershipIndex.removeCatalogue(catalogueBundle.getId());
+    }
+}
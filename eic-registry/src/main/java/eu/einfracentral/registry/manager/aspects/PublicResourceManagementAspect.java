@@ -2,11 +2,11 @@ package eu.einfracentral.registry.manager.aspects;
 
 import eu.einfracentral.domain.*;
 import eu.einfracentral.registry.manager.PublicServiceManager;
+import eu.einfracentral.utils.PropagationExecutor;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 @Aspect
@@ -16,17 +16,19 @@ public class PublicResourceManagementAspect<T extends Bundle<?>> {
     private static final Logger logger = LogManager.getLogger(PublicResourceManagementAspect.class);
 
     private final PublicServiceManager publicServiceManager;
+    private final PropagationExecutor propagationExecutor;
 
-    public PublicResourceManagementAspect(PublicServiceManager publicServiceManager){
+    public PublicResourceManagementAspect(PublicServiceManager publicServiceManager, PropagationExecutor propagationExecutor){
         this.publicServiceManager = publicServiceManager;
+        this.propagationExecutor = propagationExecutor;
     }
 
-    @Async
     @AfterReturning(pointcut = "(execution(* eu.einfracentral.registry.manager.AbstractServiceBundleManager.updateEOSCIFGuidelines" +
             "(String, String, java.util.List<eu.einfracentral.domain.EOSCIFGuidelines>, org.springframework.security.core.Authentication)))",
             returning = "serviceBundle")
     public void updatePublicResourceAfterResourceExtrasUpdate(ServiceBundle serviceBundle) {
-        publicServiceManager.update(serviceBundle, null);
+        propagationExecutor.execute("service:" + serviceBundle.getId(), PropagationExecutor.Type.UPDATE,
+                () -> publicServiceManager.update(serviceBundle, null));
     }
 
 }
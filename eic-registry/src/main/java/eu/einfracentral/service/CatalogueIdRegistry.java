@@ -0,0 +1,85 @@
+package eu.einfracentral.service;
+
+import eu.einfracentral.domain.CatalogueBundle;
+import eu.openminted.registry.core.domain.FacetFilter;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Registry of the ids of the approved and active catalogues, used to prefix the ids of public resources without
+ * querying the catalogues on every write.
+ * <p>
+ * Between rebuilds the registry is kept up to date by
+ * {@link eu.einfracentral.registry.manager.aspects.CatalogueIdManagementAspect} whenever a catalogue is written.
+ * Lookups return an immutable set; until the catalogues have been loaded once, a lookup loads them itself and fails if
+ * it cannot, so an empty registry is never mistaken for the real one.
+ */
+@Component
+public class CatalogueIdRegistry extends PeriodicallyRebuiltSnapshot<Set<String>> {
+
+    private final GenericResourceService genericResourceService;
+
+    public CatalogueIdRegistry(@Lazy GenericResourceService genericResourceService) {
+        super("catalogue ids", null);
+        this.genericResourceService = genericResourceService;
+    }
+
+    /**
+     * Loads the ids of all approved and active catalogues.
+     */
+    @Override
+    protected Set<String> load() {
+        Set<String> loaded = new HashSet<>();
+        FacetFilter ff = new FacetFilter();
+        ff.setResourceType("catalogue");
+        ff.setQuantity(1000);
+        ff.addFilter("status", "approved catalogue");
+        ff.addFilter("active", true);
+        for (Object catalogue : genericResourceService.getResults(ff).getResults()) {
+            loaded.add(((CatalogueBundle) catalogue).getId());
+        }
+        return Collections.unmodifiableSet(loaded);
+    }
+
+    // copy on write, so lookups always see a complete set
+    @Override
+    protected Set<String> apply(Set<String> catalogueIds, Consumer<Set<String>> write) {
+        Set<String> updated = new HashSet<>(catalogueIds);
+        write.accept(updated);
+        return Collections.unmodifiableSet(updated);
+    }
+
+    /**
+     * @return the ids of the approved and active catalogues
+     * @throws IllegalStateException if the catalogues have never been loaded and cannot be loaded now
+     */
+    public Set<String> getCatalogueIds() {
+        Set<String> ids = snapshot();
+        if (ids == null) {
+            rebuild();
+            ids = snapshot();
+            if (ids == null) {
+                throw new IllegalStateException("The catalogue ids could not be loaded");
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Adds the catalogue if it is approved and active, or removes it otherwise.
+     */
+    public void putCatalogue(CatalogueBundle catalogueBundle) {
+        if ("approved catalogue".equals(catalogueBundle.getStatus()) && catalogueBundle.isActive()) {
+            write(ids -> ids.add(catalogueBundle.getId()));
+        } else {
+            removeCatalogue(catalogueBundle.getId());
+        }
+    }
+
+    public void removeCatalogue(String catalogueId) {
+        write(ids -> ids.remove(catalogueId));
+    }
+}
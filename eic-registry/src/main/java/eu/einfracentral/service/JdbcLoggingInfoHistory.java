@@ -0,0 +1,110 @@
+package eu.einfracentral.service;
+
+import eu.einfracentral.domain.LoggingInfo;
+import eu.openminted.registry.core.domain.Browsing;
+import eu.openminted.registry.core.domain.Paging;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link LoggingInfoHistory} backed by the 'logging_info_history' table of the registry database.
+ * <p>
+ * An entry is identified by its resource, date, type, action type and user, so entries passed more than once are
+ * stored once. Only entries not older than the latest stored one of the resource are sent to the database.
+ */
+@Component
+public class JdbcLoggingInfoHistory implements LoggingInfoHistory {
+
+    private static final RowMapper<LoggingInfo> LOGGING_INFO_MAPPER = (rs, rowNum) -> {
+        LoggingInfo loggingInfo = new LoggingInfo();
+        loggingInfo.setDate(String.valueOf(rs.getLong("date")));
+        loggingInfo.setUserEmail(rs.getString("user_email"));
+        loggingInfo.setUserFullName(rs.getString("user_full_name"));
+        loggingInfo.setUserRole(rs.getString("user_role"));
+        loggingInfo.setType(rs.getString("type"));
+        loggingInfo.setComment(rs.getString("comment"));
+        loggingInfo.setActionType(rs.getString("action_type"));
+        return loggingInfo;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcLoggingInfoHistory(DataSource commonDataSource) {
+        this.jdbcTemplate = new JdbcTemplate(commonDataSource);
+    }
+
+    @PostConstruct
+    void createTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS logging_info_history (" +
+                "id BIGSERIAL PRIMARY KEY, " +
+                "resource_type VARCHAR(64) NOT NULL, " +
+                "resource_id VARCHAR(255) NOT NULL, " +
+                "date BIGINT NOT NULL, " +
+                "type VARCHAR(64), " +
+                "action_type VARCHAR(64), " +
+                "user_email VARCHAR(255), " +
+                "user_full_name VARCHAR(255), " +
+                "user_role VARCHAR(64), " +
+                "comment TEXT)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS logging_info_history_entry ON logging_info_history " +
+                "(resource_type, resource_id, date, COALESCE(type, ''), COALESCE(action_type, ''), COALESCE(user_email, ''))");
+    }
+
+    @Override
+    public void append(String resourceType, String resourceId, List<LoggingInfo> loggingInfo) {
+        if (loggingInfo == null || loggingInfo.isEmpty()) {
+            return;
+        }
+        Long latest = getLatestDate(resourceType, resourceId);
+        List<Object[]> rows = new ArrayList<>();
+        for (LoggingInfo entry : loggingInfo) {
+            long date = date(entry);
+            if (latest == null || date >= latest) {
+                rows.add(new Object[]{resourceType, resourceId, date, entry.getType(), entry.getActionType(),
+                        entry.getUserEmail(), entry.getUserFullName(), entry.getUserRole(), entry.getComment()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO logging_info_history (resource_type, resource_id, date, type, " +
+                    "action_type, user_email, user_full_name, user_role, comment) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT DO NOTHING", rows);
+        }
+    }
+
+    @Override
+    public Long getLatestDate(String resourceType, String resourceId) {
+        return jdbcTemplate.queryForObject("SELECT max(date) FROM logging_info_history " +
+                "WHERE resource_type = ? AND resource_id = ?", Long.class, resourceType, resourceId);
+    }
+
+    @Override
+    public Paging<LoggingInfo> get(String resourceType, String resourceId, int from, int quantity) {
+        Integer total = jdbcTemplate.queryForObject("SELECT count(*) FROM logging_info_history " +
+                "WHERE resource_type = ? AND resource_id = ?", Integer.class, resourceType, resourceId);
+        List<LoggingInfo> entries = jdbcTemplate.query("SELECT * FROM logging_info_history " +
+                        "WHERE resource_type = ? AND resource_id = ? ORDER BY date DESC, id DESC OFFSET ? LIMIT ?",
+                LOGGING_INFO_MAPPER, resourceType, resourceId, from, quantity);
+        return new Browsing<>(total != null ? total : 0, from, from + entries.size(), entries, null);
+    }
+
+    @Override
+    public boolean contains(String resourceType, String resourceId) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM logging_info_history " +
+                "WHERE resource_type = ? AND resource_id = ?)", Boolean.class, resourceType, resourceId);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private static long date(LoggingInfo entry) {
+        try {
+            return Long.parseLong(entry.getDate());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package eu.einfracentral.service;
+
+import eu.einfracentral.domain.LoggingInfo;
+import eu.openminted.registry.core.domain.Paging;
+
+import java.util.List;
+
+/**
+ * Append-only store of the {@link LoggingInfo} entries of every resource, written once per state change, from which
+ * the logging info history of a resource is read without going through its stored versions.
+ */
+public interface LoggingInfoHistory {
+
+    /**
+     * Stores the entries of the given list that are not stored yet. Entries already stored are ignored, so the whole
+     * logging info list of a resource can be passed on every write.
+     *
+     * @param resourceType the resource type
+     * @param resourceId   the resource id
+     * @param loggingInfo  the logging info entries of the resource
+     */
+    void append(String resourceType, String resourceId, List<LoggingInfo> loggingInfo);
+
+    /**
+     * @param resourceType the resource type
+     * @param resourceId   the resource id
+     * @return the date (epoch millis) of the latest stored entry of the resource, or null if none is stored
+     */
+    Long getLatestDate(String resourceType, String resourceId);
+
+    /**
+     * Returns a page of the history of a resource, latest entries first.
+     *
+     * @param resourceType the resource type
+     * @param resourceId   the resource id
+     * @param from         the index of the first entry
+     * @param quantity     the max number of entries
+     * @return the entries
+     */
+    Paging<LoggingInfo> get(String resourceType, String resourceId, int from, int quantity);
+
+    /**
+     * @return whether any entry of the given resource is stored
+     */
+    boolean contains(String resourceType, String resourceId);
+}
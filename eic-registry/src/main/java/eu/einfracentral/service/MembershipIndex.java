@@ -0,0 +1,197 @@
+package eu.einfracentral.service;
+
+import eu.einfracentral.domain.CatalogueBundle;
+import eu.einfracentral.domain.ProviderBundle;
+import eu.einfracentral.domain.User;
+import eu.openminted.registry.core.domain.FacetFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the admins of providers and catalogues: for every user email and id, the providers, pending providers
+ * and catalogues the user is an admin of.
+ * <p>
+ * Between rebuilds the index is kept up to date by
+ * {@link eu.einfracentral.registry.manager.aspects.MembershipManagementAspect}, which replaces the entry of a
+ * provider or catalogue whenever it is written.
+ */
+@Component
+public class MembershipIndex extends PeriodicallyRebuiltSnapshot<MembershipIndex.State> {
+
+    private static final String PROVIDER = "provider:";
+    private static final String PENDING_PROVIDER = "pending_provider:";
+    private static final String CATALOGUE = "catalogue:";
+
+    private final GenericResourceService genericResourceService;
+    private final int maxQuantity;
+
+    public MembershipIndex(@Lazy GenericResourceService genericResourceService,
+                           @Value("${elastic.index.max_result_window:10000}") int maxQuantity) {
+        super("membership index", new State());
+        this.genericResourceService = genericResourceService;
+        this.maxQuantity = maxQuantity;
+    }
+
+    /**
+     * Loads the index from all providers, pending providers and catalogues.
+     */
+    @Override
+    protected State load() {
+        State loaded = new State();
+        for (ProviderBundle provider : this.<ProviderBundle>getAll("provider")) {
+            loaded.put(providerKey(provider.getProvider().getCatalogueId(), provider.getId()), provider.getProvider().getUsers());
+        }
+        for (ProviderBundle provider : this.<ProviderBundle>getAll("pending_provider")) {
+            loaded.put(PENDING_PROVIDER + provider.getId(), provider.getProvider().getUsers());
+        }
+        for (CatalogueBundle catalogue : this.<CatalogueBundle>getAll("catalogue")) {
+            loaded.put(CATALOGUE + catalogue.getId(), catalogue.getCatalogue().getUsers());
+        }
+        return loaded;
+    }
+
+    public void putProvider(ProviderBundle providerBundle) {
+        write(s -> s.put(providerKey(providerBundle.getProvider().getCatalogueId(), providerBundle.getId()),
+                providerBundle.getProvider().getUsers()));
+    }
+
+    public void removeProvider(String catalogueId, String providerId) {
+        write(s -> s.remove(providerKey(catalogueId, providerId)));
+    }
+
+    public void putPendingProvider(ProviderBundle providerBundle) {
+        write(s -> s.put(PENDING_PROVIDER + providerBundle.getId(), providerBundle.getProvider().getUsers()));
+    }
+
+    public void removePendingProvider(String providerId) {
+        write(s -> s.remove(PENDING_PROVIDER + providerId));
+    }
+
+    public void putCatalogue(CatalogueBundle catalogueBundle) {
+        write(s -> s.put(CATALOGUE + catalogueBundle.getId(), catalogueBundle.getCatalogue().getUsers()));
+    }
+
+    public void removeCatalogue(String catalogueId) {
+        write(s -> s.remove(CATALOGUE + catalogueId));
+    }
+
+    /**
+     * Checks whether the user is an admin of the given provider or, if no such provider exists, of the pending
+     * provider with the given id.
+     */
+    public boolean isProviderAdmin(User user, String catalogueId, String providerId) {
+        State current = snapshot();
+        String key = providerKey(catalogueId, providerId);
+        if (!current.members.containsKey(key)) {
+            key = PENDING_PROVIDER + providerId;
+        }
+        return current.isMember(key, user);
+    }
+
+    public boolean isCatalogueAdmin(User user, String catalogueId) {
+        return snapshot().isMember(CATALOGUE + catalogueId, user);
+    }
+
+    /**
+     * @return whether the user with the given email is an admin of any provider or pending provider
+     */
+    public boolean isProviderUser(String email) {
+        return snapshot().getMemberships(email).stream()
+                .anyMatch(key -> key.startsWith(PROVIDER) || key.startsWith(PENDING_PROVIDER));
+    }
+
+    /**
+     * @return whether the user with the given email is an admin of any catalogue
+     */
+    public boolean isCatalogueUser(String email) {
+        return snapshot().getMemberships(email).stream().anyMatch(key -> key.startsWith(CATALOGUE));
+    }
+
+    private <T> List<T> getAll(String resourceType) {
+        FacetFilter ff = new FacetFilter();
+        ff.setResourceType(resourceType);
+        ff.setQuantity(maxQuantity);
+        return genericResourceService.<T>getResults(ff).getResults();
+    }
+
+    private static String providerKey(String catalogueId, String providerId) {
+        return PROVIDER + catalogueId + "/" + providerId;
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.toLowerCase();
+    }
+
+    private static String idKey(String id) {
+        return "id:" + id;
+    }
+
+    static final class State {
+        // provider/catalogue key -> user keys
+        private final Map<String, Set<String>> members = new ConcurrentHashMap<>();
+        // user key -> provider/catalogue keys
+        private final Map<String, Set<String>> memberships = new ConcurrentHashMap<>();
+
+        private void put(String key, List<User> users) {
+            Set<String> userKeys = new HashSet<>();
+            if (users != null) {
+                for (User user : users) {
+                    if (user != null) {
+                        userKeys.addAll(userKeys(user));
+                    }
+                }
+            }
+            Set<String> previous = members.put(key, Collections.unmodifiableSet(userKeys));
+            if (previous != null) {
+                previous.stream().filter(userKey -> !userKeys.contains(userKey)).forEach(userKey -> unlink(userKey, key));
+            }
+            userKeys.forEach(userKey -> memberships.computeIfAbsent(userKey, k -> ConcurrentHashMap.newKeySet()).add(key));
+        }
+
+        private void remove(String key) {
+            Set<String> previous = members.remove(key);
+            if (previous != null) {
+                previous.forEach(userKey -> unlink(userKey, key));
+            }
+        }
+
+        private void unlink(String userKey, String key) {
+            Set<String> keys = memberships.get(userKey);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    memberships.remove(userKey);
+                }
+            }
+        }
+
+        private boolean isMember(String key, User user) {
+            for (String userKey : userKeys(user)) {
+                Set<String> keys = memberships.get(userKey);
+                if (keys != null && keys.contains(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Set<String> getMemberships(String email) {
+            return email == null ? Collections.emptySet() : memberships.getOrDefault(emailKey(email), Collections.emptySet());
+        }
+
+        private static List<String> userKeys(User user) {
+            List<String> userKeys = new ArrayList<>(2);
+            if (user.getId() != null && !user.getId().isEmpty()) {
+                userKeys.add(idKey(user.getId()));
+            }
+            if (user.getEmail() != null && !user.getEmail().isEmpty()) {
+                userKeys.add(emailKey(user.getEmail()));
+            }
+            return userKeys;
+        }
+    }
+}
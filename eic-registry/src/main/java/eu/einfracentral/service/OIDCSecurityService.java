@@ -5,8 +5,6 @@ import eu.einfracentral.domain.ServiceBundle;
 import eu.einfracentral.exception.ResourceException;
 import eu.einfracentral.exception.ResourceNotFoundException;
 import eu.einfracentral.exception.ValidationException;
-import eu.einfracentral.registry.manager.CatalogueManager;
-import eu.einfracentral.registry.manager.PendingProviderManager;
 import eu.einfracentral.registry.manager.ProviderManager;
 import eu.einfracentral.registry.service.*;
 import eu.openminted.registry.core.domain.FacetFilter;
@@ -29,12 +27,12 @@ import java.util.*;
 public class OIDCSecurityService implements SecurityService {
 
     private final ProviderManager providerManager;
-    private final CatalogueManager catalogueManager;
-    private final PendingProviderManager pendingProviderManager;
     private final ServiceBundleService<ServiceBundle> serviceBundleService;
     private final TrainingResourceService<TrainingResourceBundle> trainingResourceService;
     private final PendingResourceService<ServiceBundle> pendingServiceManager;
     private final InteroperabilityRecordService<InteroperabilityRecordBundle> interoperabilityRecordService;
+    private final MembershipIndex membershipIndex;
+    private final RequestAuthorizationCache requestAuthorizationCache;
     private OIDCAuthenticationToken adminAccess;
 
     @Value("${project.catalogue.name}")
@@ -47,19 +45,20 @@ public class OIDCSecurityService implements SecurityService {
     private String projectEmail;
 
     @Autowired
-    OIDCSecurityService(ProviderManager providerManager, CatalogueManager catalogueManager,
+    OIDCSecurityService(ProviderManager providerManager,
                         ServiceBundleService<ServiceBundle> serviceBundleService,
                         @Lazy TrainingResourceService<TrainingResourceBundle> trainingResourceService,
-                        @Lazy PendingProviderManager pendingProviderManager,
                         @Lazy PendingResourceService<ServiceBundle> pendingServiceManager,
-                        @Lazy InteroperabilityRecordService<InteroperabilityRecordBundle> interoperabilityRecordService) {
+                        @Lazy InteroperabilityRecordService<InteroperabilityRecordBundle> interoperabilityRecordService,
+                        MembershipIndex membershipIndex,
+                        RequestAuthorizationCache requestAuthorizationCache) {
         this.providerManager = providerManager;
-        this.catalogueManager = catalogueManager;
         this.serviceBundleService = serviceBundleService;
         this.trainingResourceService = trainingResourceService;
-        this.pendingProviderManager = pendingProviderManager;
         this.pendingServiceManager = pendingServiceManager;
         this.interoperabilityRecordService = interoperabilityRecordService;
+        this.membershipIndex = membershipIndex;
+        this.requestAuthorizationCache = requestAuthorizationCache;
 
         // create admin access
         List<GrantedAuthority> roles = new ArrayList<>();
@@ -134,36 +133,15 @@ public class OIDCSecurityService implements SecurityService {
     }
 
     @Override
-    public boolean userIsProviderAdmin(User user, @NotNull String providerId, @NotNull String catalogueId) {
-        ProviderBundle registeredProvider;
-        try {
-            registeredProvider = providerManager.get(catalogueId, providerId, adminAccess);
-        } catch (ResourceException | ResourceNotFoundException e) {
-            try {
-                registeredProvider = pendingProviderManager.get(providerId);
-            } catch (RuntimeException re) {
-                return false;
-            }
-        }
-        if (registeredProvider == null) {
-            throw new ResourceNotFoundException("Provider with id '" + providerId + "' does not exist.");
-        }
-        if (registeredProvider.getProvider().getUsers() == null) {
-            return false;
+    public void prefetchAuthorizations(Authentication auth, Collection<?> items) {
+        if (auth != null && !hasRole(auth, "ROLE_ANONYMOUS")) {
+            requestAuthorizationCache.prefetch(items);
         }
-        return registeredProvider.getProvider().getUsers()
-                .parallelStream()
-                .filter(Objects::nonNull)
-                .anyMatch(u -> {
-                    if (u.getId() != null) {
-                        if (u.getEmail() != null) {
-                            return u.getId().equals(user.getId())
-                                    || u.getEmail().equalsIgnoreCase(user.getEmail());
-                        }
-                        return u.getId().equals(user.getId());
-                    }
-                    return u.getEmail().equalsIgnoreCase(user.getEmail());
-                });
+    }
+
+    @Override
+    public boolean userIsProviderAdmin(User user, @NotNull String providerId, @NotNull String catalogueId) {
+        return membershipIndex.isProviderAdmin(user, catalogueId, providerId);
     }
 
     @Override
@@ -189,31 +167,7 @@ public class OIDCSecurityService implements SecurityService {
 
     @Override
     public boolean userIsCatalogueAdmin(User user, @NotNull String catalogueId) {
-        CatalogueBundle registeredCatalogue;
-        try {
-            registeredCatalogue = catalogueManager.get(catalogueId);
-        } catch (RuntimeException e) {
-            return false;
-        }
-        if (registeredCatalogue == null) {
-            throw new ResourceNotFoundException("Catalogue with id '" + catalogueId + "' does not exist.");
-        }
-        if (registeredCatalogue.getCatalogue().getUsers() == null) {
-            return false;
-        }
-        return registeredCatalogue.getCatalogue().getUsers()
-                .parallelStream()
-                .filter(Objects::nonNull)
-                .anyMatch(u -> {
-                    if (u.getId() != null) {
-                        if (u.getEmail() != null) {
-                            return u.getId().equals(user.getId())
-                                    || u.getEmail().equalsIgnoreCase(user.getEmail());
-                        }
-                        return u.getId().equals(user.getId());
-                    }
-                    return u.getEmail().equalsIgnoreCase(user.getEmail());
-                });
+        return membershipIndex.isCatalogueAdmin(user, catalogueId);
     }
 
     @Override
@@ -272,6 +226,13 @@ public class OIDCSecurityService implements SecurityService {
 
     @Override
     public boolean userIsResourceProviderAdmin(@NotNull User user, String resourceId, String catalogueId) {
+        List<String> resourceProviders = requestAuthorizationCache.getResourceProviders(resourceId, catalogueId);
+        if (resourceProviders != null) {
+            return resourceProviders
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .anyMatch(id -> userIsProviderAdmin(user, id, catalogueId));
+        }
         ServiceBundle serviceBundle;
         TrainingResourceBundle trainingResourceBundle = new TrainingResourceBundle();
         InteroperabilityRecordBundle interoperabilityRecordBundle = new InteroperabilityRecordBundle();
@@ -0,0 +1,123 @@
+package eu.einfracentral.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Snapshot of data loaded from the search index. It is built on startup and rebuilt periodically, to pick up changes
+ * made by other instances, and kept up to date by {@link #write} in between.
+ * <p>
+ * Lookups read the current snapshot and never block. Writes and rebuilds are serialized among themselves only: a
+ * rebuild replaces the whole snapshot at once, replaying the writes made while it was running. If a rebuild fails, the
+ * current snapshot is kept and the rebuild is retried shortly.
+ *
+ * @param <S> the type of the snapshot
+ */
+public abstract class PeriodicallyRebuiltSnapshot<S> {
+
+    private static final Logger logger = LogManager.getLogger(PeriodicallyRebuiltSnapshot.class);
+
+    private static final long REBUILD_INTERVAL = 600000; // 10 min
+
+    private final String name;
+    private final Object rebuildLock = new Object();
+    private final Object writeLock = new Object();
+    // null until loaded for the first time, unless an initial snapshot is given
+    private volatile S snapshot;
+    // writes made while a rebuild is running, replayed on the rebuilt snapshot (null if no rebuild is running)
+    private List<Consumer<S>> pendingWrites;
+    // time of the last successful rebuild
+    private volatile long lastRebuild;
+
+    /**
+     * @param name    the name of the snapshot, used in log messages
+     * @param initial the snapshot served until the first rebuild, or null
+     */
+    protected PeriodicallyRebuiltSnapshot(String name, S initial) {
+        this.name = name;
+        this.snapshot = initial;
+    }
+
+    /**
+     * Loads a new snapshot from the search index.
+     *
+     * @throws RuntimeException if the snapshot cannot be loaded
+     */
+    protected abstract S load();
+
+    /**
+     * Applies a write to the given snapshot. Writes are applied in place by default; snapshots that cannot be updated
+     * while being read must apply them to a copy instead.
+     *
+     * @return the updated snapshot
+     */
+    protected S apply(S snapshot, Consumer<S> write) {
+        write.accept(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the snapshot. If it cannot be loaded, the current snapshot is kept.
+     */
+    @PostConstruct
+    public void rebuild() {
+        long time = System.nanoTime();
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                pendingWrites = new ArrayList<>();
+            }
+            S rebuilt = null;
+            try {
+                rebuilt = load();
+            } catch (RuntimeException e) {
+                logger.warn("Could not rebuild the {}, keeping the current one", name, e);
+            } finally {
+                synchronized (writeLock) {
+                    if (rebuilt != null) {
+                        for (Consumer<S> write : pendingWrites) {
+                            rebuilt = apply(rebuilt, write);
+                        }
+                        snapshot = rebuilt;
+                        lastRebuild = System.currentTimeMillis();
+                    }
+                    pendingWrites = null;
+                }
+            }
+        }
+        logger.debug("Rebuilding the {} took {} ms", name, (System.nanoTime() - time) / 1000000);
+    }
+
+    /**
+     * Rebuilds the snapshot every 10 minutes, or sooner if the last rebuild failed.
+     */
+    @Scheduled(initialDelay = 30000, fixedDelay = 30000) //check every 30 sec
+    public void rebuildIfDue() {
+        if (System.currentTimeMillis() - lastRebuild >= REBUILD_INTERVAL) {
+            rebuild();
+        }
+    }
+
+    /**
+     * @return the current snapshot, or null if it has never been loaded and no initial snapshot was given
+     */
+    protected S snapshot() {
+        return snapshot;
+    }
+
+    protected void write(Consumer<S> write) {
+        synchronized (writeLock) {
+            if (snapshot != null) {
+                snapshot = apply(snapshot, write);
+            }
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package eu.einfracentral.service;
+
+import eu.einfracentral.domain.*;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.*;
+
+/**
+ * Keeps the providers of the resources being checked during the current request, so that checking whether a user
+ * is an admin of a resource's providers does not fetch the resource again.
+ * <p>
+ * The cache is opened by {@link #prefetch(Collection)}, which records the providers of all the given items, and is
+ * stored as an attribute of the current request, so it is discarded along with it. While no cache is open (outside
+ * a request or before it is opened), every check fetches the resource. Whether a user is an admin of a provider is
+ * answered by the {@link MembershipIndex}.
+ */
+@Component
+public class RequestAuthorizationCache {
+
+    private static final String ATTRIBUTE = RequestAuthorizationCache.class.getName();
+
+    /**
+     * Opens the cache of the current request, if not already open, and records the providers of the given items.
+     *
+     * @param items the items that will be checked
+     */
+    public void prefetch(Collection<?> items) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, List<String>> resourceProviders = (Map<String, List<String>>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (resourceProviders == null) {
+            resourceProviders = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, resourceProviders, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        for (Object item : items) {
+            if (item instanceof Bundle) {
+                item = ((Bundle<?>) item).getPayload();
+            }
+            if (item instanceof Service) {
+                Service service = (Service) item;
+                addResource(resourceProviders, service.getId(), service.getCatalogueId(),
+                        service.getResourceOrganisation(), service.getResourceProviders());
+            } else if (item instanceof TrainingResource) {
+                TrainingResource trainingResource = (TrainingResource) item;
+                addResource(resourceProviders, trainingResource.getId(), trainingResource.getCatalogueId(),
+                        trainingResource.getResourceOrganisation(), trainingResource.getResourceProviders());
+            } else if (item instanceof InteroperabilityRecord) {
+                InteroperabilityRecord interoperabilityRecord = (InteroperabilityRecord) item;
+                addResource(resourceProviders, interoperabilityRecord.getId(), interoperabilityRecord.getCatalogueId(),
+                        interoperabilityRecord.getProviderId(), null);
+            }
+        }
+    }
+
+    /**
+     * @return the providers of the given resource, or null if the resource was not prefetched
+     */
+    @SuppressWarnings("unchecked")
+    List<String> getResourceProviders(String resourceId, String catalogueId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, List<String>> resourceProviders = (Map<String, List<String>>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return resourceProviders == null ? null : resourceProviders.get(key(catalogueId, resourceId));
+    }
+
+    private static String key(String catalogueId, String id) {
+        return catalogueId + "/" + id;
+    }
+
+    private static void addResource(Map<String, List<String>> resourceProviders, String resourceId, String catalogueId,
+                                    String resourceOrganisation, List<String> otherProviders) {
+        // resources without a Resource Organisation are left to the regular checks, which reject them
+        if (resourceId == null || catalogueId == null || resourceOrganisation == null || resourceOrganisation.equals("")) {
+            return;
+        }
+        List<String> allProviders = new ArrayList<>();
+        allProviders.add(resourceOrganisation);
+        if (otherProviders != null) {
+            allProviders.addAll(otherProviders);
+        }
+        resourceProviders.put(key(catalogueId, resourceId), allProviders);
+    }
+}
@@ -1,15 +1,37 @@
 package eu.einfracentral.service.search;
 
 import eu.einfracentral.utils.FacetFilterUtils;
+import eu.openminted.registry.core.domain.Facet;
 import eu.openminted.registry.core.domain.FacetFilter;
+import eu.openminted.registry.core.domain.Paging;
+import eu.openminted.registry.core.domain.Resource;
 import eu.openminted.registry.core.service.SearchService;
 import eu.openminted.registry.core.service.SearchServiceImpl;
+import eu.openminted.registry.core.service.ServiceException;
 import org.bouncycastle.util.Strings;
+import org.elasticsearch.common.lucene.search.function.CombineFunction;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.DisMaxQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.functionscore.ScoreFunctionBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.collapse.CollapseBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.beans.factory.annotation.Value;
 
+import java.io.IOException;
+import java.net.UnknownHostException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -17,8 +39,251 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 
 public abstract class AbstractSearchService extends SearchServiceImpl implements SearchService {
 
+    private final RestHighLevelClient elasticsearchClient;
+
+    @Value("${elastic.aggregation.bucketSize:1000}")
+    private int bucketSize;
+
     public AbstractSearchService(RestHighLevelClient client) {
         super(client);
+        this.elasticsearchClient = client;
+    }
+
+    /**
+     * Counts the resources matching the given filter with a size-0 search, without fetching them.
+     *
+     * @param filter Accepts the {@link FacetFilter} object used to search.
+     * @return the number of matching resources
+     */
+    public long count(FacetFilter filter) {
+        SearchSourceBuilder source = new SearchSourceBuilder()
+                .query(createQueryBuilder(filter))
+                .size(0)
+                .trackTotalHits(true);
+        try {
+            SearchResponse response = elasticsearchClient.search(new SearchRequest(filter.getResourceType()).source(source),
+                    RequestOptions.DEFAULT);
+            return response.getHits().getTotalHits().value;
+        } catch (IOException e) {
+            throw new ServiceException(e);
+        }
+    }
+
+    /**
+     * Counts, with a single multi-search request, the resources matching each of the given filters and the values of
+     * their browseBy fields.
+     *
+     * @param filters Accepts the {@link FacetFilter} objects used to search.
+     * @return for each filter, a {@link Paging} without results, holding the total and the facets
+     */
+    public List<Paging<Resource>> count(List<FacetFilter> filters) {
+        MultiSearchRequest request = new MultiSearchRequest();
+        for (FacetFilter filter : filters) {
+            SearchSourceBuilder source = new SearchSourceBuilder()
+                    .query(createQueryBuilder(filter))
+                    .size(0)
+                    .trackTotalHits(true);
+            for (String field : filter.getBrowseBy()) {
+                source.aggregation(AggregationBuilders.terms(field).field(field).size(bucketSize));
+            }
+            request.add(new SearchRequest(filter.getResourceType()).source(source));
+        }
+
+        MultiSearchResponse responses;
+        try {
+            responses = elasticsearchClient.msearch(request, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new ServiceException(e);
+        }
+        List<Paging<Resource>> counts = new ArrayList<>();
+        for (MultiSearchResponse.Item item : responses.getResponses()) {
+            if (item.isFailure()) {
+                throw new ServiceException(item.getFailureMessage());
+            }
+            SearchResponse response = item.getResponse();
+            List<Facet> facets = new ArrayList<>();
+            if (response.getAggregations() != null) {
+                for (Aggregation aggregation : response.getAggregations()) {
+                    Facet facet = new Facet();
+                    facet.setField(aggregation.getName());
+                    facet.setLabel(aggregation.getName());
+                    List<eu.openminted.registry.core.domain.Value> values = new ArrayList<>();
+                    for (Terms.Bucket bucket : ((Terms) aggregation).getBuckets()) {
+                        eu.openminted.registry.core.domain.Value value = new eu.openminted.registry.core.domain.Value();
+                        value.setValue(bucket.getKeyAsString());
+                        value.setCount((int) bucket.getDocCount());
+                        values.add(value);
+                    }
+                    facet.setValues(values);
+                    facets.add(facet);
+                }
+            }
+            int total = (int) response.getHits().getTotalHits().value;
+            counts.add(new Paging<>(total, 0, 0, new ArrayList<>(), facets));
+        }
+        return counts;
+    }
+
+    /**
+     * Finds the catalogues holding the resources with the given id, with a size-0 search aggregating their catalogue
+     * ids, so no resource is fetched.
+     *
+     * @param resourceType the resource type
+     * @param id           the resource id
+     * @return the ids of the catalogues holding the resource, empty if it does not exist
+     */
+    public List<String> locate(String resourceType, String id) {
+        SearchSourceBuilder source = new SearchSourceBuilder()
+                .query(boolQuery().filter(termQuery("resource_internal_id", id)))
+                .size(0)
+                .aggregation(AggregationBuilders.terms("catalogue_id").field("catalogue_id").size(bucketSize));
+        SearchResponse response;
+        try {
+            response = elasticsearchClient.search(new SearchRequest(resourceType).source(source), RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new ServiceException(e);
+        }
+        List<String> catalogueIds = new ArrayList<>();
+        Terms terms = response.getAggregations() != null ? response.getAggregations().get("catalogue_id") : null;
+        if (terms != null) {
+            for (Terms.Bucket bucket : terms.getBuckets()) {
+                catalogueIds.add(bucket.getKeyAsString());
+            }
+        }
+        return catalogueIds;
+    }
+
+    /**
+     * Finds which of the given ids belong to existing resources, with a size-0 search aggregating their ids, so no
+     * resource is fetched.
+     *
+     * @param resourceType the resource type
+     * @param ids          the resource ids
+     * @return the ids of the given ones that exist
+     */
+    public Set<String> findExistingIds(String resourceType, Collection<String> ids) {
+        Set<String> existing = new HashSet<>();
+        if (ids.isEmpty()) {
+            return existing;
+        }
+        SearchSourceBuilder source = new SearchSourceBuilder()
+                .query(boolQuery().filter(termsQuery("resource_internal_id", ids)))
+                .size(0)
+                .aggregation(AggregationBuilders.terms("resource_internal_id").field("resource_internal_id").size(ids.size()));
+        SearchResponse response;
+        try {
+            response = elasticsearchClient.search(new SearchRequest(resourceType).source(source), RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new ServiceException(e);
+        }
+        Terms terms = response.getAggregations() != null ? response.getAggregations().get("resource_internal_id") : null;
+        if (terms != null) {
+            for (Terms.Bucket bucket : terms.getBuckets()) {
+                existing.add(bucket.getKeyAsString());
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Picks random resources matching the given filter. The resources are scored by a seeded {@code random_score}
+     * and only the ids of the top {@code filter.getQuantity()} are fetched, so the cost does not depend on the number
+     * of matching resources. The picked resources are then fetched with a single search.
+     *
+     * @param filter     Accepts the {@link FacetFilter} object used to search. Its quantity is the sample size.
+     * @param distinctBy An index field of which at most one resource per value is picked, or null.
+     * @param seed       The random seed. The same seed picks the same resources while the index is unchanged.
+     * @return the picked resources, with the number of matching resources as total
+     */
+    public Paging<Resource> sample(FacetFilter filter, String distinctBy, long seed) throws UnknownHostException {
+        SearchSourceBuilder source = new SearchSourceBuilder()
+                .query(QueryBuilders.functionScoreQuery(createQueryBuilder(filter),
+                                ScoreFunctionBuilders.randomFunction().seed(seed).setField("_seq_no"))
+                        .boostMode(CombineFunction.REPLACE))
+                .size(filter.getQuantity())
+                .fetchSource(false)
+                .docValueField("resource_internal_id")
+                .trackTotalHits(true);
+        if (distinctBy != null) {
+            source.collapse(new CollapseBuilder(distinctBy));
+        }
+        SearchResponse response;
+        try {
+            response = elasticsearchClient.search(new SearchRequest(filter.getResourceType()).source(source),
+                    RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new ServiceException(e);
+        }
+        int total = (int) response.getHits().getTotalHits().value;
+        List<Object> ids = new ArrayList<>();
+        for (SearchHit hit : response.getHits().getHits()) {
+            if (hit.getFields().containsKey("resource_internal_id")) {
+                ids.add(hit.getFields().get("resource_internal_id").getValue());
+            }
+        }
+        if (ids.isEmpty()) {
+            return new Paging<>(total, 0, 0, new ArrayList<>(), new ArrayList<>());
+        }
+
+        FacetFilter picked = new FacetFilter();
+        picked.setResourceType(filter.getResourceType());
+        picked.setFilter(new LinkedHashMap<>(filter.getFilter()));
+        picked.addFilter("resource_internal_id", ids);
+        picked.setQuantity(ids.size());
+        List<Resource> results = search(picked).getResults();
+        return new Paging<>(total, 0, results.size(), results, new ArrayList<>());
+    }
+
+    /**
+     * Finds all the resources matching the given filter, however many they are. The ids of the resources are paged
+     * with {@code search_after}, so no page reaches past {@code max_result_window}, and each page of ids is then
+     * fetched with a single search.
+     *
+     * @param filter Accepts the {@link FacetFilter} object used to search. Its quantity is the page size.
+     * @return the matching resources
+     */
+    public List<Resource> searchAll(FacetFilter filter) {
+        List<Resource> resources = new ArrayList<>();
+        Object[] after = null;
+        SearchHit[] hits;
+        do {
+            SearchSourceBuilder source = new SearchSourceBuilder()
+                    .query(createQueryBuilder(filter))
+                    .size(filter.getQuantity())
+                    .fetchSource(false)
+                    .docValueField("resource_internal_id")
+                    .sort(SortBuilders.fieldSort("resource_internal_id").order(SortOrder.ASC))
+                    .sort(SortBuilders.fieldSort("catalogue_id").order(SortOrder.ASC).unmappedType("keyword"));
+            if (after != null) {
+                source.searchAfter(after);
+            }
+            SearchResponse response;
+            try {
+                response = elasticsearchClient.search(new SearchRequest(filter.getResourceType()).source(source),
+                        RequestOptions.DEFAULT);
+            } catch (IOException e) {
+                throw new ServiceException(e);
+            }
+            hits = response.getHits().getHits();
+            List<Object> ids = new ArrayList<>();
+            for (SearchHit hit : hits) {
+                if (hit.getFields().containsKey("resource_internal_id")) {
+                    ids.add(hit.getFields().get("resource_internal_id").getValue());
+                }
+            }
+            if (!ids.isEmpty()) {
+                FacetFilter page = new FacetFilter();
+                page.setResourceType(filter.getResourceType());
+                page.setFilter(new LinkedHashMap<>(filter.getFilter()));
+                page.addFilter("resource_internal_id", ids);
+                page.setQuantity(ids.size());
+                resources.addAll(search(page).getResults());
+            }
+            if (hits.length > 0) {
+                after = hits[hits.length - 1].getSortValues();
+            }
+        } while (hits.length == filter.getQuantity() && filter.getQuantity() > 0);
+        return resources;
     }
 
     /**
@@ -5,6 +5,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +18,11 @@ public class SearchServiceEIC extends AbstractSearchService implements SearchSer
 
     private static final Logger logger = LogManager.getLogger(SearchServiceEIC.class);
 
+    /**
+     * Filter keeping the resources never audited or last audited before the given date (epoch millis).
+     */
+    public static final String NOT_AUDITED_SINCE = "not_audited_since";
+
     public SearchServiceEIC(RestHighLevelClient elasticsearchClient) {
         super(elasticsearchClient);
     }
@@ -30,6 +36,23 @@ public class SearchServiceEIC extends AbstractSearchService implements SearchSer
                     qBuilder.filter(createDisMaxQuery(filters.getKey(), filters.getValue()));
                     break;
 
+                case NOT_AUDITED_SINCE:
+                    // dates are indexed as epoch millis strings, which sort as numbers until year 2286
+                    qBuilder.filter(QueryBuilders.boolQuery()
+                            .should(QueryBuilders.rangeQuery("latestAuditDate").lt(filters.getValue().get(0)))
+                            .should(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery("latestAuditDate")))
+                            .minimumShouldMatch(1));
+                    break;
+
+                case "users":
+                    // emails are matched case-insensitively, the indexed ones keep the case they were entered in
+                    BoolQueryBuilder users = QueryBuilders.boolQuery().minimumShouldMatch(1);
+                    for (Object email : filters.getValue()) {
+                        users.should(QueryBuilders.termQuery(filters.getKey(), (String) email).caseInsensitive(true));
+                    }
+                    qBuilder.filter(users);
+                    break;
+
                 default:
                     qBuilder.must(createDisMaxQuery(filters.getKey(), filters.getValue()));
                     break;
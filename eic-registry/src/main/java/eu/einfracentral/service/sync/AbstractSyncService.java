@@ -9,16 +9,12 @@ import org.javatuples.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import javax.annotation.PostConstruct;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.BlockingQueue;
@@ -32,24 +28,22 @@ public abstract class AbstractSyncService<T extends Identifiable> implements Syn
     protected boolean active = false;
     protected String host;
     protected String controller;
-    private String filename;
+    private final SyncTokenProvider tokenProvider;
 
     private BlockingQueue<Pair<T, String>> queue;
 
     protected abstract String getController();
 
     @Autowired
-    public AbstractSyncService(@Value("${sync.host:}") String host, @Value("${sync.token.filepath:}") String filename, @Value("${sync.enable}") boolean enabled) {
+    public AbstractSyncService(@Value("${sync.host:}") String host, @Value("${sync.enable}") boolean enabled,
+                               SyncTokenProvider tokenProvider, SyncConnectionPool connectionPool) {
         this.host = host;
-        this.filename = filename;
-        restTemplate = new RestTemplate();
+        this.tokenProvider = tokenProvider;
+        restTemplate = connectionPool.getRestTemplate();
 
         if (!"".equals(host) && enabled) {
             active = true;
         }
-        if ("".equals(filename)) {
-            logger.warn("'sync.token.filepath' value not set");
-        }
         this.queue = new LinkedBlockingQueue<>();
     }
 
@@ -214,8 +208,6 @@ public abstract class AbstractSyncService<T extends Identifiable> implements Syn
                 } else{
                     uri = new URI(host + controller + "/verifyResource/" + t.getId() + "?active=true&status=approved%20resource").normalize();
                 }
-                HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory();
-                restTemplate.setRequestFactory(requestFactory);
                 ResponseEntity<?> re = restTemplate.exchange(uri.normalize(), HttpMethod.PATCH, request, t.getClass());
                 if (re.getStatusCode() != HttpStatus.OK) {
                     logger.error("Verifying {} with id '{}' from host '{}' returned code '{}'\nResponse body:\n{}",
@@ -242,29 +234,13 @@ public abstract class AbstractSyncService<T extends Identifiable> implements Syn
     }
 
     protected HttpHeaders createHeaders() {
-        String token;
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        try {
-            token = readFile(filename);
+        String token = tokenProvider.getToken();
+        if (token != null) {
             headers.add("Authorization", "Bearer " + token);
-        } catch (IOException e) {
-            logger.error("Could not read file '{}' containing the synchronization token", filename, e);
         }
 
         return headers;
     }
-
-    protected String readFile(String filename) throws IOException {
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            StringBuilder sb = new StringBuilder();
-            String line = br.readLine();
-
-            while (line != null) {
-                sb.append(line);
-                line = br.readLine();
-            }
-            return sb.toString();
-        }
-    }
 }
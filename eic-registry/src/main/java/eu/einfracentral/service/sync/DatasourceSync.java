@@ -9,8 +9,9 @@ import org.springframework.stereotype.Service;
 public class DatasourceSync extends AbstractSyncService<Datasource>{
 
     @Autowired
-    public DatasourceSync(@Value("${sync.host:}") String host, @Value("${sync.token.filepath:}") String filename, @Value("${sync.enable}") boolean enabled) {
-        super(host, filename, enabled);
+    public DatasourceSync(@Value("${sync.host:}") String host, @Value("${sync.enable}") boolean enabled,
+                          SyncTokenProvider tokenProvider, SyncConnectionPool connectionPool) {
+        super(host, enabled, tokenProvider, connectionPool);
     }
 
     @Override
@@ -0,0 +1,89 @@
+package eu.einfracentral.service.sync;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled, keep-alive enabled HTTP client shared by all the synchronizers.
+ */
+@Component
+public class SyncConnectionPool {
+
+    private static final Logger logger = LogManager.getLogger(SyncConnectionPool.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+
+    public SyncConnectionPool(@Value("${sync.http.connectTimeout:5000}") int connectTimeout,
+                              @Value("${sync.http.readTimeout:30000}") int readTimeout,
+                              @Value("${sync.http.maxConnectionsPerRoute:10}") int maxConnectionsPerRoute,
+                              @Value("${sync.http.maxConnections:20}") int maxConnections,
+                              @Value("${sync.http.keepAlive:60000}") long keepAlive) {
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setValidateAfterInactivity(2000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .build();
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return duration > 0 ? duration : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+                .build();
+
+        restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    public RestTemplate getRestTemplate() {
+        return restTemplate;
+    }
+
+    /**
+     * Returns the current statistics (leased, pending, available and max connections) of the pool.
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    @Scheduled(initialDelay = 300000, fixedRate = 300000) //run every 5 min
+    public void logPoolStats() {
+        PoolStats stats = getPoolStats();
+        logger.debug("Sync connection pool - leased: {}, pending: {}, available: {}, max: {}",
+                stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+    }
+
+    @PreDestroy
+    void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            logger.warn("Could not close sync http client", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package eu.einfracentral.service.sync;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Supplies the synchronization token, keeping it in memory and reloading it
+ * only when the token file has been modified.
+ */
+@Component
+public class SyncTokenProvider {
+
+    private static final Logger logger = LogManager.getLogger(SyncTokenProvider.class);
+
+    private final Path tokenFile;
+    private volatile String token;
+    private volatile FileTime lastModified;
+
+    public SyncTokenProvider(@Value("${sync.token.filepath:}") String filename) {
+        if ("".equals(filename)) {
+            logger.warn("'sync.token.filepath' value not set");
+            this.tokenFile = null;
+        } else {
+            this.tokenFile = Paths.get(filename);
+        }
+    }
+
+    /**
+     * Returns the cached token, reloading it if the token file has changed since the last read.
+     *
+     * @return the token or null if it could not be read
+     */
+    public String getToken() {
+        if (tokenFile == null) {
+            return null;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(tokenFile);
+            if (token == null || !modified.equals(lastModified)) {
+                reload(modified);
+            }
+        } catch (IOException e) {
+            logger.error("Could not read file '{}' containing the synchronization token", tokenFile, e);
+        }
+        return token;
+    }
+
+    private synchronized void reload(FileTime modified) throws IOException {
+        if (token != null && modified.equals(lastModified)) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String line : Files.readAllLines(tokenFile, StandardCharsets.UTF_8)) {
+            sb.append(line);
+        }
+        token = sb.toString();
+        lastModified = modified;
+        logger.info("Loaded synchronization token from '{}'", tokenFile);
+    }
+}
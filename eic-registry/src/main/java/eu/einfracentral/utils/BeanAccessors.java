@@ -0,0 +1,209 @@
+package eu.einfracentral.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Accessors of a class, resolved once per class and cached.
+ * <p>
+ * Holds {@link MethodHandle}s for the 'id' property and for all the properties copied by
+ * {@link ObjectUtils#merge(Object, Object)}, so that no reflective lookup happens per call.
+ */
+public final class BeanAccessors {
+
+    private static final Logger logger = LogManager.getLogger(BeanAccessors.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<BeanAccessors> cache = new ClassValue<BeanAccessors>() {
+        @Override
+        protected BeanAccessors computeValue(Class<?> type) {
+            return new BeanAccessors(type);
+        }
+    };
+
+    private final Class<?> clazz;
+    private final MethodHandle idGetter;
+    private final MethodHandle idSetter;
+    private final List<Property> properties;
+
+    private BeanAccessors(Class<?> clazz) {
+        this.clazz = clazz;
+        Field idField = findIdField(clazz);
+        this.idGetter = findIdGetter(clazz, idField);
+        this.idSetter = findIdSetter(clazz, idField);
+        this.properties = findProperties(clazz);
+    }
+
+    /**
+     * Returns the (cached) accessors of the given class.
+     *
+     * @param clazz the class
+     * @return the accessors
+     */
+    public static BeanAccessors of(Class<?> clazz) {
+        return cache.get(clazz);
+    }
+
+    public boolean hasId() {
+        return idGetter != null;
+    }
+
+    /**
+     * Returns the id of the given object, using its 'getId' method or, if missing, its 'id' field.
+     *
+     * @param object the object
+     * @return the id
+     * @throws IllegalStateException if the class has neither a 'getId' method nor an 'id' field
+     */
+    public String getId(Object object) {
+        if (idGetter == null) {
+            throw new IllegalStateException(String.format("Could not find 'id' in class [%s]", clazz.getName()));
+        }
+        try {
+            Object id = idGetter.invokeExact(object);
+            return (String) id;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Sets the id of the given object, using its 'setId' method or, if missing, its 'id' field.
+     *
+     * @param object the object
+     * @param id     the id
+     * @return false if the class has neither a 'setId' method nor an 'id' field
+     */
+    public boolean setId(Object object, String id) {
+        if (idSetter == null) {
+            return false;
+        }
+        try {
+            idSetter.invokeExact(object, (Object) id);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+        return true;
+    }
+
+    /**
+     * Copies all non-null properties of 'update' to 'existing'.
+     *
+     * @param existing the object to update
+     * @param update   the object containing the new values
+     */
+    public void merge(Object existing, Object update) {
+        for (Property property : properties) {
+            try {
+                Object value = property.getter.invokeExact(update);
+                if (value != null) {
+                    property.setter.invokeExact(existing, value);
+                }
+            } catch (Throwable e) {
+                logger.error("Could not merge property '{}' of class [{}]", property.name, clazz.getName(), e);
+            }
+        }
+    }
+
+    private static Field findIdField(Class<?> clazz) {
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField("id");
+                if (field.getType() == String.class) {
+                    field.setAccessible(true);
+                    return field;
+                }
+            } catch (NoSuchFieldException e) {
+                // check superclass
+            } catch (RuntimeException e) {
+                logger.warn("Could not access 'id' field of class [{}]", c.getName());
+            }
+        }
+        return null;
+    }
+
+    private static MethodHandle findIdGetter(Class<?> clazz, Field idField) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            Method getId = clazz.getMethod("getId");
+            if (getId.getReturnType() == String.class) {
+                return lookup.unreflect(getId).asType(GETTER_TYPE);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            logger.debug("Could not find 'getId' method in class [{}]", clazz.getName());
+        }
+        try {
+            return idField != null ? lookup.unreflectGetter(idField).asType(GETTER_TYPE) : null;
+        } catch (IllegalAccessException e) {
+            logger.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static MethodHandle findIdSetter(Class<?> clazz, Field idField) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            return lookup.unreflect(clazz.getMethod("setId", String.class)).asType(SETTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            logger.debug("Could not find 'setId' method in class [{}]", clazz.getName());
+        }
+        try {
+            return idField != null ? lookup.unreflectSetter(idField).asType(SETTER_TYPE) : null;
+        } catch (IllegalAccessException e) {
+            logger.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Finds the getters declared in the class that have a matching setter.
+     */
+    private static List<Property> findProperties(Class<?> clazz) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<Property> properties = new ArrayList<>();
+        for (Method getter : clazz.getMethods()) {
+            if (!getter.getDeclaringClass().equals(clazz) || !getter.getName().startsWith("get")
+                    || getter.getParameterCount() != 0) {
+                continue;
+            }
+            String name = getter.getName().substring(3);
+            try {
+                Method setter = clazz.getMethod("set" + name, getter.getReturnType());
+                properties.add(new Property(name, lookup.unreflect(getter).asType(GETTER_TYPE),
+                        lookup.unreflect(setter).asType(SETTER_TYPE)));
+            } catch (NoSuchMethodException e) {
+                // read-only property
+            } catch (IllegalAccessException e) {
+                logger.error("Could not access property '{}' of class [{}]", name, clazz.getName(), e);
+            }
+        }
+        return Collections.unmodifiableList(properties);
+    }
+
+    private static class Property {
+        private final String name;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private Property(String name, MethodHandle getter, MethodHandle setter) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+}
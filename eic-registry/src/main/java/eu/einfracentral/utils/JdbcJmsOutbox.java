@@ -0,0 +1,103 @@
+package eu.einfracentral.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link JmsOutbox} backed by the 'jms_outbox' table of the registry database.
+ * <p>
+ * Messages that cannot be read back are flagged as poisoned and kept in the table for inspection.
+ */
+@Component
+public class JdbcJmsOutbox implements JmsOutbox {
+
+    private static final Logger logger = LogManager.getLogger(JdbcJmsOutbox.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public JdbcJmsOutbox(DataSource commonDataSource) {
+        this.jdbcTemplate = new JdbcTemplate(commonDataSource);
+    }
+
+    @PostConstruct
+    void createTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS jms_outbox (" +
+                "id BIGSERIAL PRIMARY KEY, " +
+                "destination VARCHAR(255) NOT NULL, " +
+                "topic BOOLEAN NOT NULL, " +
+                "payload_class VARCHAR(255) NOT NULL, " +
+                "payload TEXT NOT NULL, " +
+                "created TIMESTAMP NOT NULL DEFAULT now())");
+        jdbcTemplate.execute("ALTER TABLE jms_outbox ADD COLUMN IF NOT EXISTS poisoned BOOLEAN NOT NULL DEFAULT FALSE");
+    }
+
+    @Override
+    public void store(List<JmsMessage> messages) {
+        List<Object[]> rows = new ArrayList<>();
+        for (JmsMessage message : messages) {
+            try {
+                rows.add(new Object[]{message.getDestination(), message.isTopic(),
+                        message.getPayload().getClass().getName(), objectMapper.writeValueAsString(message.getPayload())});
+            } catch (JsonProcessingException e) {
+                logger.error("Could not serialize message for destination '{}'. Message is dropped.", message.getDestination(), e);
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO jms_outbox (destination, topic, payload_class, payload) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Returns the oldest messages. Messages whose payload cannot be deserialized are left in the table as poisoned,
+     * and are logged and skipped, rather than sent with a payload of a different type.
+     */
+    @Override
+    public List<JmsMessage> peek(int limit) {
+        List<JmsMessage> messages = jdbcTemplate.query("SELECT id, destination, topic, payload_class, payload FROM jms_outbox " +
+                        "WHERE NOT poisoned ORDER BY id LIMIT ?",
+                (rs, rowNum) -> {
+                    Object payload;
+                    try {
+                        payload = objectMapper.readValue(rs.getString("payload"), Class.forName(rs.getString("payload_class")));
+                    } catch (JsonProcessingException | ClassNotFoundException e) {
+                        logger.error("Could not deserialize outbox message with id '{}' for destination '{}' ({}): {}. " +
+                                        "Message is kept as poisoned.", rs.getLong("id"), rs.getString("destination"),
+                                rs.getString("payload_class"), rs.getString("payload"), e);
+                        payload = null;
+                    }
+                    return new JmsMessage(rs.getLong("id"), rs.getString("destination"), rs.getBoolean("topic"), payload);
+                }, limit);
+        List<Object[]> poisoned = messages.stream()
+                .filter(message -> message.getPayload() == null)
+                .map(message -> new Object[]{message.getId()})
+                .collect(Collectors.toList());
+        if (poisoned.isEmpty()) {
+            return messages;
+        }
+        jdbcTemplate.batchUpdate("UPDATE jms_outbox SET poisoned = TRUE WHERE id = ?", poisoned);
+        return peek(limit);
+    }
+
+    @Override
+    public void remove(List<JmsMessage> messages) {
+        jdbcTemplate.batchUpdate("DELETE FROM jms_outbox WHERE id = ?", messages.stream()
+                .map(JmsMessage::getId)
+                .map(id -> new Object[]{id})
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM jms_outbox WHERE NOT poisoned", Long.class);
+        return count != null ? count : 0;
+    }
+}
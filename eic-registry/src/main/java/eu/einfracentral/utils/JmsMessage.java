@@ -0,0 +1,55 @@
+package eu.einfracentral.utils;
+
+/**
+ * A message waiting to be published to a JMS topic or queue.
+ */
+public class JmsMessage {
+
+    private Long id;
+    private final String destination;
+    private final boolean topic;
+    private final Object payload;
+
+    public JmsMessage(String destination, boolean topic, Object payload) {
+        this(null, destination, topic, payload);
+    }
+
+    public JmsMessage(Long id, String destination, boolean topic, Object payload) {
+        this.id = id;
+        this.destination = destination;
+        this.topic = topic;
+        this.payload = payload;
+    }
+
+    /**
+     * The outbox id of the message, or null if the message has not been stored in the outbox.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public boolean isTopic() {
+        return topic;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "JmsMessage{" +
+                "id=" + id +
+                ", destination='" + destination + '\'' +
+                ", topic=" + topic +
+                '}';
+    }
+}
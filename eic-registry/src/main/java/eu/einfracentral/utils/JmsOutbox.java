@@ -0,0 +1,36 @@
+package eu.einfracentral.utils;
+
+import java.util.List;
+
+/**
+ * Persistent store for JMS messages that could not be delivered to the broker.
+ */
+public interface JmsOutbox {
+
+    /**
+     * Stores the given messages, preserving their order.
+     *
+     * @param messages the messages to store
+     */
+    void store(List<JmsMessage> messages);
+
+    /**
+     * Returns the oldest stored messages, without removing them.
+     *
+     * @param limit max number of messages to return
+     * @return the messages, ordered by the time they were stored
+     */
+    List<JmsMessage> peek(int limit);
+
+    /**
+     * Removes the given messages from the outbox.
+     *
+     * @param messages the messages to remove
+     */
+    void remove(List<JmsMessage> messages);
+
+    /**
+     * @return the number of stored messages
+     */
+    long count();
+}
@@ -2,37 +2,294 @@ package eu.einfracentral.utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.springframework.jms.JmsSecurityException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.jms.JmsException;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.jms.Connection;
+import javax.jms.DeliveryMode;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes JMS messages asynchronously.
+ * <p>
+ * Messages are placed in a bounded in-memory buffer and sent in batches by a dedicated pool of sender threads,
+ * one transacted session per batch and domain (topics, queues). Messages that cannot be buffered or whose
+ * transaction was not committed are stored in the {@link JmsOutbox} and are re-sent, in order, once the broker
+ * becomes available again. Payloads are copied when published, so the messages hold the state at that time.
+ */
 @Service
 public class JmsService {
 
     private static final Logger logger = LogManager.getLogger(JmsService.class);
     private final JmsTemplate jmsTopicTemplate;
     private final JmsTemplate jmsQueueTemplate;
+    private final JmsOutbox outbox;
+    private final Environment environment;
+    private final BlockingQueue<JmsMessage> buffer;
+    private final int senderThreads;
+    private final int batchSize;
+    private final AtomicBoolean outboxPending = new AtomicBoolean(false);
+    private final Object outboxLock = new Object();
+    private final Map<String, Integer> deliveryModes = new ConcurrentHashMap<>();
+    private ExecutorService senders;
+    private volatile boolean running;
 
-    private JmsService(JmsTemplate jmsTopicTemplate, JmsTemplate jmsQueueTemplate) {
+    public JmsService(JmsTemplate jmsTopicTemplate, JmsTemplate jmsQueueTemplate, JmsOutbox outbox, Environment environment,
+                      @Value("${jms.publisher.threads:1}") int senderThreads,
+                      @Value("${jms.publisher.bufferSize:10000}") int bufferSize,
+                      @Value("${jms.publisher.batchSize:50}") int batchSize) {
         this.jmsTopicTemplate = jmsTopicTemplate;
         this.jmsQueueTemplate = jmsQueueTemplate;
+        this.outbox = outbox;
+        this.environment = environment;
+        this.buffer = new LinkedBlockingQueue<>(bufferSize);
+        this.senderThreads = senderThreads;
+        this.batchSize = batchSize;
     }
 
-    public void convertAndSendTopic(String messageDestination, Object message) {
+    @PostConstruct
+    void init() {
         try {
-            logger.info("Sending JMS to topic: {}", messageDestination);
-            jmsTopicTemplate.convertAndSend(messageDestination, message);
-        } catch (JmsSecurityException e) {
-            logger.info("JMS failed. Error: {}", e.getMessage(), e);
+            outboxPending.set(outbox.count() > 0);
+        } catch (RuntimeException e) {
+            logger.error("Could not access JMS outbox", e);
+        }
+        running = true;
+        senders = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("jms-sender-"));
+        for (int i = 0; i < senderThreads; i++) {
+            senders.execute(this::sendBufferedMessages);
         }
     }
 
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(10, TimeUnit.SECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            senders.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        List<JmsMessage> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.info("Storing {} unsent JMS messages to the outbox", remaining.size());
+            storeInOutbox(remaining);
+        }
+    }
+
+    public void convertAndSendTopic(String messageDestination, Object message) {
+        publish(messageDestination, true, message);
+    }
+
     public void convertAndSendQueue(String messageDestination, Object message) {
+        publish(messageDestination, false, message);
+    }
+
+    /**
+     * @return the number of messages waiting in the in-memory buffer
+     */
+    public int getBufferedMessages() {
+        return buffer.size();
+    }
+
+    /**
+     * Sends the messages stored in the outbox, oldest first, until the outbox is empty or the broker fails.
+     */
+    @Scheduled(initialDelay = 30000, fixedDelayString = "${jms.outbox.drainInterval:30000}")
+    public synchronized void drainOutbox() {
+        if (!outboxPending.get()) {
+            return;
+        }
         try {
-            logger.info("Sending JMS to queue: {}", messageDestination);
-            jmsQueueTemplate.convertAndSend(messageDestination, message);
-        } catch (JmsSecurityException e) {
-            logger.info("JMS failed. Error: {}", e.getMessage(), e);
+            List<JmsMessage> messages = outbox.peek(batchSize);
+            while (!messages.isEmpty()) {
+                List<JmsMessage> undelivered = send(messages);
+                List<JmsMessage> delivered = new ArrayList<>(messages);
+                delivered.removeAll(undelivered);
+                outbox.remove(delivered);
+                logger.info("Sent {} JMS messages from the outbox", delivered.size());
+                if (!undelivered.isEmpty()) {
+                    logger.warn("JMS broker is still unavailable. Outbox will be drained later.");
+                    return;
+                }
+                messages = outbox.peek(batchSize);
+            }
+            synchronized (outboxLock) {
+                if (outbox.count() == 0) {
+                    outboxPending.set(false);
+                }
+            }
+        } catch (JmsException e) {
+            logger.warn("JMS broker is still unavailable. Outbox will be drained later. Error: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Could not drain JMS outbox", e);
+        }
+    }
+
+    /**
+     * Buffers a copy of the payload, taken on the caller's thread, so changes made to the payload after publishing
+     * (e.g. masking the response it is also part of) are never sent.
+     */
+    private void publish(String destination, boolean topic, Object payload) {
+        JmsMessage message;
+        try {
+            message = new JmsMessage(destination, topic, payload instanceof String ? payload : ObjectUtils.clone(payload));
+        } catch (RuntimeException e) {
+            logger.error("Could not copy message for '{}'. Message is dropped.", destination, e);
+            return;
+        }
+        logger.info("Queueing JMS to {}: {}", message.isTopic() ? "topic" : "queue", message.getDestination());
+        if (!buffer.offer(message)) {
+            logger.warn("JMS buffer is full, storing message for '{}' to the outbox", message.getDestination());
+            storeInOutbox(Collections.singletonList(message));
         }
     }
+
+    private void sendBufferedMessages() {
+        List<JmsMessage> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                JmsMessage first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                if (outboxPending.get()) {
+                    // keep messages ordered behind the ones waiting in the outbox
+                    storeInOutbox(batch);
+                } else {
+                    storeInOutbox(send(batch));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                buffer.drainTo(batch);
+                storeInOutbox(batch);
+                return;
+            } catch (RuntimeException e) {
+                logger.error("JMS failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void storeInOutbox(List<JmsMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        try {
+            synchronized (outboxLock) {
+                outbox.store(messages);
+                outboxPending.set(true);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not store {} JMS messages to the outbox. Messages are lost: {}", messages.size(), messages, e);
+        }
+    }
+
+    /**
+     * Sends the topic and the queue messages, each domain in its own transaction.
+     *
+     * @return the messages whose transaction was not committed
+     */
+    private List<JmsMessage> send(List<JmsMessage> messages) {
+        Map<Boolean, List<JmsMessage>> byDomain = messages.stream()
+                .collect(Collectors.partitioningBy(JmsMessage::isTopic));
+        List<JmsMessage> undelivered = new ArrayList<>();
+        for (boolean topic : new boolean[]{true, false}) {
+            List<JmsMessage> domainMessages = byDomain.get(topic);
+            if (domainMessages.isEmpty()) {
+                continue;
+            }
+            try {
+                send(topic ? jmsTopicTemplate : jmsQueueTemplate, domainMessages);
+            } catch (JmsException e) {
+                logger.warn("JMS failed, {} messages to {} were not sent. Error: {}", domainMessages.size(),
+                        topic ? "topics" : "queues", e.getMessage());
+                undelivered.addAll(domainMessages);
+            }
+        }
+        return undelivered;
+    }
+
+    /**
+     * Sends all messages using a single transacted session.
+     */
+    private void send(JmsTemplate template, List<JmsMessage> messages) {
+        Connection connection = null;
+        Session session = null;
+        try {
+            connection = template.getConnectionFactory().createConnection();
+            session = connection.createSession(true, Session.SESSION_TRANSACTED);
+            for (JmsMessage message : messages) {
+                logger.info("Sending JMS to {}: {}", template.isPubSubDomain() ? "topic" : "queue", message.getDestination());
+                Destination destination = template.getDestinationResolver()
+                        .resolveDestinationName(session, message.getDestination(), template.isPubSubDomain());
+                MessageProducer producer = session.createProducer(destination);
+                try {
+                    Message jmsMessage = template.getMessageConverter().toMessage(message.getPayload(), session);
+                    producer.send(jmsMessage, getDeliveryMode(message.getDestination()),
+                            template.getPriority(), template.getTimeToLive());
+                } catch (MessageConversionException e) {
+                    logger.error("Could not convert message for '{}'. Message is dropped.", message.getDestination(), e);
+                } finally {
+                    JmsUtils.closeMessageProducer(producer);
+                }
+            }
+            session.commit();
+        } catch (JMSException e) {
+            rollback(session);
+            throw JmsUtils.convertJmsAccessException(e);
+        } finally {
+            JmsUtils.closeSession(session);
+            JmsUtils.closeConnection(connection);
+        }
+    }
+
+    private void rollback(Session session) {
+        if (session != null) {
+            try {
+                JmsUtils.rollbackIfNecessary(session);
+            } catch (JMSException | RuntimeException e) {
+                logger.debug("Could not roll back JMS session", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the delivery mode configured through 'jms.deliveryMode.{destination}',
+     * falling back to 'jms.deliveryMode.default' (PERSISTENT or NON_PERSISTENT).
+     */
+    private int getDeliveryMode(String destination) {
+        return deliveryModes.computeIfAbsent(destination, d -> {
+            String mode = environment.getProperty("jms.deliveryMode." + d,
+                    environment.getProperty("jms.deliveryMode.default", "PERSISTENT"));
+            return "NON_PERSISTENT".equalsIgnoreCase(mode) ? DeliveryMode.NON_PERSISTENT : DeliveryMode.PERSISTENT;
+        });
+    }
 }
@@ -1,11 +1,12 @@
 package eu.einfracentral.utils;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.lang.reflect.Method;
+import java.io.IOException;
 
 public class ObjectUtils {
 
@@ -14,43 +15,46 @@ public class ObjectUtils {
 
     private static final Logger logger = LogManager.getLogger(ObjectUtils.class);
 
+    /**
+     * Shared mapper used for cloning. ObjectMapper is thread-safe once configured and caches its
+     * (de)serializers, so it must not be reconfigured after creation.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Creates a deep copy of the given object, by serializing it to an in-memory token buffer
+     * and reading it back, without producing any intermediate JSON text.
+     *
+     * @param object the object to copy
+     * @return the copy
+     */
     public static <T> T clone(T object) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        T deepCopy = null;
-        try {
-            String json = objectMapper.writeValueAsString(object);
-            deepCopy = (T) objectMapper.readValue(json, object.getClass());
-        } catch (JsonProcessingException e) {
+        if (object == null) {
+            return null;
+        }
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            objectMapper.writeValue(buffer, object);
+            try (JsonParser parser = buffer.asParser()) {
+                return (T) objectMapper.readValue(parser, object.getClass());
+            }
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        return deepCopy;
     }
 
+    /**
+     * Copies all non-null properties of 'update' to 'existing', using the cached {@link BeanAccessors}
+     * of the class.
+     *
+     * @param existing the object to update
+     * @param update   the object containing the new values
+     * @return the updated object
+     */
     public static Object merge(Object existing, Object update) {
         if (!existing.getClass().isAssignableFrom(update.getClass())) {
             return existing;
         }
-
-        Method[] methods = existing.getClass().getMethods();
-
-        for (Method fromMethod : methods) {
-            if (fromMethod.getDeclaringClass().equals(existing.getClass())
-                    && fromMethod.getName().startsWith("get")) {
-
-                String fromName = fromMethod.getName();
-                String toName = fromName.replace("get", "set");
-
-                try {
-                    Method toMetod = existing.getClass().getMethod(toName, fromMethod.getReturnType());
-                    Object value = fromMethod.invoke(update, (Object[]) null);
-                    if (value != null) {
-                        toMetod.invoke(existing, value);
-                    }
-                } catch (Exception e) {
-                    logger.error("ERROR", e);
-                }
-            }
-        }
+        BeanAccessors.of(existing.getClass()).merge(existing, update);
         return existing;
     }
 }
@@ -0,0 +1,166 @@
+package eu.einfracentral.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded executor running the asynchronous propagations of resource changes (public copies, helpdesk and
+ * monitoring copies, etc.).
+ * <p>
+ * Tasks are grouped by resource key and executed in submission order, one at a time per key. Consecutive
+ * updates of the same resource that have not started yet are coalesced, so only the latest state is propagated.
+ * An update task must therefore always write the state it was submitted with (or re-read the latest one): decide
+ * whether an update needs propagating before submitting it, not inside the task, or a skipped task may replace a
+ * pending write.
+ * When the executor queue is full, tasks run on the submitting thread.
+ */
+@Component
+public class PropagationExecutor {
+
+    private static final Logger logger = LogManager.getLogger(PropagationExecutor.class);
+
+    public enum Type {
+        ADD, UPDATE, DELETE
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Deque<Task>> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong lastLag = new AtomicLong();
+    private final AtomicLong maxLag = new AtomicLong();
+
+    public PropagationExecutor(@Value("${propagation.executor.threads:4}") int threads,
+                               @Value("${propagation.executor.queueCapacity:1000}") int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("propagation-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Submits a propagation task for the resource identified by the given key.
+     *
+     * @param key  the resource key, e.g. 'provider:{id}'
+     * @param type the type of the change being propagated
+     * @param task the propagation; an {@link Type#UPDATE} task must write unconditionally, as it may replace the
+     *             pending update of the same resource
+     */
+    public void execute(String key, Type type, Runnable task) {
+        submitted.incrementAndGet();
+        Task newTask = new Task(type, task);
+        boolean[] schedule = {false};
+        pending.compute(key, (k, tasks) -> {
+            if (tasks == null) {
+                tasks = new ArrayDeque<>();
+                schedule[0] = true;
+            }
+            Task last = tasks.peekLast();
+            if (type == Type.UPDATE && last != null && last.type == Type.UPDATE) {
+                tasks.pollLast();
+                newTask.enqueued = last.enqueued;
+                coalesced.incrementAndGet();
+            }
+            tasks.addLast(newTask);
+            return tasks;
+        });
+        if (schedule[0]) {
+            executor.execute(() -> drain(key));
+        }
+    }
+
+    private void drain(String key) {
+        while (true) {
+            Task[] next = {null};
+            pending.computeIfPresent(key, (k, tasks) -> {
+                next[0] = tasks.pollFirst();
+                return next[0] == null ? null : tasks;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            long lag = System.currentTimeMillis() - next[0].enqueued;
+            lastLag.set(lag);
+            maxLag.accumulateAndGet(lag, Math::max);
+            try {
+                next[0].runnable.run();
+            } catch (RuntimeException e) {
+                logger.error("Propagation of '{}' failed", key, e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of propagations waiting to be executed
+     */
+    public int getQueueDepth() {
+        return pending.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    /**
+     * @return the number of propagations skipped because a newer update of the same resource was submitted
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    /**
+     * @return the time (ms) the latest propagation waited before being executed
+     */
+    public long getLastLag() {
+        return lastLag.get();
+    }
+
+    /**
+     * @return the max time (ms) a propagation waited before being executed
+     */
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    @Scheduled(initialDelay = 300000, fixedRate = 300000) //run every 5 min
+    public void logMetrics() {
+        logger.debug("Propagations - submitted: {}, coalesced: {}, queued: {}, active: {}, last lag: {} ms, max lag: {} ms",
+                getSubmittedCount(), getCoalescedCount(), getQueueDepth(), executor.getActiveCount(), getLastLag(), getMaxLag());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("{} propagations were not executed", getQueueDepth());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Task {
+        private final Type type;
+        private final Runnable runnable;
+        private long enqueued = System.currentTimeMillis();
+
+        private Task(Type type, Runnable runnable) {
+            this.type = type;
+            this.runnable = runnable;
+        }
+    }
+}
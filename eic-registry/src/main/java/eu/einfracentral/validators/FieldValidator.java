@@ -2,27 +2,20 @@ package eu.einfracentral.validators;
 
 import eu.einfracentral.annotation.*;
 import eu.einfracentral.domain.*;
-import eu.einfracentral.exception.ResourceException;
-import eu.einfracentral.exception.ResourceNotFoundException;
 import eu.einfracentral.exception.ValidationException;
-import eu.einfracentral.registry.manager.ProviderManager;
-import eu.einfracentral.registry.service.*;
+import eu.einfracentral.registry.service.VocabularyService;
+import eu.einfracentral.service.GenericResourceService;
+import eu.einfracentral.validators.ValidationPlan.FieldRule;
 import org.apache.commons.validator.routines.EmailValidator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.*;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Service
 public class FieldValidator {
@@ -30,177 +23,127 @@ public class FieldValidator {
     private static final Logger logger = LogManager.getLogger(FieldValidator.class);
 
     private final VocabularyService vocabularyService;
-    private final ProviderManager providerService;
-    private final ServiceBundleService<ServiceBundle> serviceBundleService;
-    private final TrainingResourceService<TrainingResourceBundle> trainingResourceService;
-    private final CatalogueService<CatalogueBundle, Authentication> catalogueService;
-    private final InteroperabilityRecordService<InteroperabilityRecordBundle> interoperabilityRecordService;
+    private final GenericResourceService genericResourceService;
+    private final UrlVerifier urlVerifier;
 
     private static final String MANDATORY_FIELD = "Field '%s' is mandatory.";
     private static final String NULL_OBJECT = "Attempt to validate null object..";
-
-    private Deque<String> validationLocation;
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^(((\\+)|(00))\\d{1,3}( )?)?((\\(\\d{3}\\))|\\d{3})[- .]?\\d{3}[- .]?\\d{4}$");
+    private static final EmailValidator EMAIL_VALIDATOR = EmailValidator.getInstance();
 
     @Autowired
     public FieldValidator(VocabularyService vocabularyService,
-                          ProviderManager providerService,
-                          @Lazy ServiceBundleService<ServiceBundle> serviceBundleService,
-                          @Lazy TrainingResourceService<TrainingResourceBundle> trainingResourceService,
-                          @Lazy CatalogueService<CatalogueBundle, Authentication> catalogueService,
-                          @Lazy InteroperabilityRecordService<InteroperabilityRecordBundle> interoperabilityRecordService) {
+                          GenericResourceService genericResourceService,
+                          UrlVerifier urlVerifier) {
         this.vocabularyService = vocabularyService;
-        this.providerService = providerService;
-        this.serviceBundleService = serviceBundleService;
-        this.catalogueService = catalogueService;
-        this.interoperabilityRecordService = interoperabilityRecordService;
-        this.trainingResourceService = trainingResourceService;
-    }
-
-    private String getCurrentLocation() {
-        return validationLocation.stream().filter(Objects::nonNull).collect(Collectors.joining("->"));
+        this.genericResourceService = genericResourceService;
+        this.urlVerifier = urlVerifier;
     }
 
+    /**
+     * Validates the annotated fields of the given object. If the object is a {@link Bundle}, its payload is validated
+     * too. The ids referenced by the object are resolved with one query per resource type, and the URLs found in the
+     * object are checked concurrently, once all the fields are validated.
+     * This method is thread-safe; the location of the field being validated is kept in a per-call
+     * {@link ValidationContext}.
+     *
+     * @param o the object to validate
+     * @throws IllegalAccessException kept for compatibility, fields are accessed through the cached validation plans
+     */
     public void validate(Object o) throws IllegalAccessException {
-        validationLocation = new ArrayDeque<>();
-        validateFields(o);
-        if (o.getClass().getSuperclass() != null && (o.getClass().getSuperclass().getCanonicalName().contains("eu.einfracentral.domain.Bundle"))) {
-            try {
-                Field payload = Bundle.class.getDeclaredField("payload");
-                payload.setAccessible(true);
-                o = payload.get(o);
-            } catch (NoSuchFieldException e) {
-                logger.error("Could not find field 'payload'", e);
-            }
-            validateFields(o);
+        ValidationContext context = new ValidationContext();
+        validateFields(context, o);
+        if (o.getClass().getSuperclass() != null && Bundle.class.equals(o.getClass().getSuperclass())) {
+            validateFields(context, ((Bundle<?>) o).getPayload());
         }
+        validateReferences(context);
+        validateUrls(context);
     }
 
-    private void validateFields(Object o) throws IllegalAccessException {
+    private void validateFields(ValidationContext context, Object o) {
         if (o == null) {
             throw new ValidationException(NULL_OBJECT);
         }
 
-        // get declared fields of class
-        List<Field> declaredFields = new ArrayList<>(Arrays.asList(o.getClass().getDeclaredFields()));
-        if (o instanceof ServiceBundle){
-            declaredFields.addAll(Arrays.asList(o.getClass().getSuperclass().getDeclaredFields()));
-        }
-        if (o instanceof TrainingResourceBundle){
-            declaredFields.addAll(Arrays.asList(o.getClass().getSuperclass().getDeclaredFields()));
-        }
-        if (o instanceof InteroperabilityRecordBundle){
-            declaredFields.addAll(Arrays.asList(o.getClass().getSuperclass().getDeclaredFields()));
-        }
-
-        // validate every field
-        for (Field field : declaredFields) {
-            validationLocation.addLast(field.getName());
-            validateField(field, o);
-            validationLocation.removeLast();
+        // validate every annotated field
+        for (FieldRule rule : ValidationPlan.of(o.getClass()).getRules()) {
+            context.enter(rule.getName());
+            validateField(context, rule, o);
+            context.exit();
         }
     }
 
-    private void validateField(Field field, Object o) throws IllegalAccessException {
-        if (o == null) { // parent object here
-            throw new ValidationException(NULL_OBJECT);
-        }
-
-        // email validation
-        if (field.getAnnotation(EmailValidation.class) != null) {
-            validateEmail(field, o, field.getAnnotation(EmailValidation.class));
-            return;
+    private void validateField(ValidationContext context, FieldRule rule, Object o) {
+        switch (rule.getKind()) {
+            case EMAIL:
+                validateEmail(context, rule, o);
+                break;
+            case PHONE:
+                validatePhone(context, rule, o);
+                break;
+            default:
+                validateAnnotatedField(context, rule, o);
         }
-
-        // phone validation
-        if (field.getAnnotation(PhoneValidation.class) != null) {
-            validatePhone(field, o, field.getAnnotation(PhoneValidation.class));
-            return;
-        }
-
-        // check if FieldValidation annotation exists
-        Annotation vocabularyValidation = field.getAnnotation(VocabularyValidation.class);
-        Annotation geoLocationVocValidation = field.getAnnotation(GeoLocationVocValidation.class);
-        Annotation annotation = field.getAnnotation(FieldValidation.class);
-        if (vocabularyValidation != null && annotation == null) {
-            annotation = vocabularyValidation.annotationType().getAnnotation(FieldValidation.class);
-        }
-        // region/countries validation
-        if (geoLocationVocValidation != null && annotation == null) {
-            annotation = geoLocationVocValidation.annotationType().getAnnotation(FieldValidation.class);
-        }
-
-        validateField(field, o, (FieldValidation) annotation);
     }
 
-    private void validatePhone(Field field, Object o, PhoneValidation annotation) throws IllegalAccessException {
-        field.setAccessible(true);
-        o = field.get(o);
-        if (annotation.nullable() && (o == null || o.equals(""))) {
+    private void validatePhone(ValidationContext context, FieldRule rule, Object o) {
+        o = rule.get(o);
+        if (rule.isNullable() && (o == null || o.equals(""))) {
             return;
         } else if (o == null) {
-            throw new ValidationException(String.format(MANDATORY_FIELD, getCurrentLocation()));
+            throw new ValidationException(String.format(MANDATORY_FIELD, context.getCurrentLocation()));
         }
-        Pattern phonePattern = Pattern.compile("^(((\\+)|(00))\\d{1,3}( )?)?((\\(\\d{3}\\))|\\d{3})[- .]?\\d{3}[- .]?\\d{4}$");
-        if (!phonePattern.matcher(o.toString()).matches()) {
-            throw new ValidationException(String.format("The phone you provided [%s] is not valid. Found in field [%s]", o, getCurrentLocation()));
+        if (!PHONE_PATTERN.matcher(o.toString()).matches()) {
+            throw new ValidationException(String.format("The phone you provided [%s] is not valid. Found in field [%s]", o, context.getCurrentLocation()));
         }
     }
 
-    private void validateEmail(Field field, Object o, EmailValidation annotation) throws IllegalAccessException {
-        field.setAccessible(true);
-        o = field.get(o);
-        if (annotation.nullable() && (o == null || o.equals(""))) {
+    private void validateEmail(ValidationContext context, FieldRule rule, Object o) {
+        o = rule.get(o);
+        if (rule.isNullable() && (o == null || o.equals(""))) {
             return;
         } else if (o == null) {
-            throw new ValidationException(String.format(MANDATORY_FIELD, getCurrentLocation()));
+            throw new ValidationException(String.format(MANDATORY_FIELD, context.getCurrentLocation()));
         }
-        EmailValidator emailValidator = EmailValidator.getInstance();
-        if (!emailValidator.isValid(o.toString())) {
-            throw new ValidationException(String.format("Email [%s] is not valid. Found in field [%s]", o, getCurrentLocation()));
+        if (!EMAIL_VALIDATOR.isValid(o.toString())) {
+            throw new ValidationException(String.format("Email [%s] is not valid. Found in field [%s]", o, context.getCurrentLocation()));
         }
     }
 
-    private void validateField(Field field, Object o, FieldValidation annotation) throws IllegalAccessException {
-        if (o == null) {
-            throw new ValidationException(NULL_OBJECT);
-        }
-
-        if (annotation != null) {
-
-            field.setAccessible(true);
-
-            Object fieldValue = field.get(o);
-            Class clazz = null;
-            if (fieldValue != null) {
-                clazz = field.get(o).getClass();
-
-                if (Collection.class.isAssignableFrom(fieldValue.getClass())) {
-                    removeNullOrEmptyEntries((Collection) fieldValue);
-                    field.set(o, fieldValue);
-                } else if ((String.class.isAssignableFrom(fieldValue.getClass())
-                        || URL.class.isAssignableFrom(fieldValue.getClass()))
-                        && "".equals(fieldValue)) {
-                    fieldValue = null;
-                    field.set(o, fieldValue);
-                }
+    private void validateAnnotatedField(ValidationContext context, FieldRule rule, Object o) {
+        FieldValidation annotation = rule.getFieldValidation();
+        Field field = rule.getField();
+
+        Object fieldValue = rule.get(o);
+        Class clazz = null;
+        if (fieldValue != null) {
+            clazz = fieldValue.getClass();
+
+            if (Collection.class.isAssignableFrom(clazz)) {
+                removeNullOrEmptyEntries((Collection) fieldValue);
+            } else if ((String.class.isAssignableFrom(clazz)
+                    || URL.class.isAssignableFrom(clazz))
+                    && "".equals(fieldValue)) {
+                fieldValue = null;
+                rule.set(o, null);
             }
+        }
 
-            if (!annotation.nullable() && isNullOrEmpty(fieldValue, clazz)) {
-                throw new ValidationException(String.format(MANDATORY_FIELD, getCurrentLocation()));
-            }
+        if (!annotation.nullable() && isNullOrEmpty(fieldValue, clazz)) {
+            throw new ValidationException(String.format(MANDATORY_FIELD, context.getCurrentLocation()));
+        }
 
-            validateMaxLength(field, fieldValue, annotation);
-            validateUrlValidity(field, fieldValue);
-            validateDuplicates(field, fieldValue);
-
-            if (annotation.containsId()) {
-                validateIds(field, fieldValue, annotation);
-            } else if (fieldValue != null && fieldValue.getClass().getCanonicalName().startsWith("eu.einfracentral.")) {
-                validateFields(fieldValue);
-            } else if (fieldValue != null && Collection.class.isAssignableFrom(fieldValue.getClass())) {
-                for (Object entry : ((Collection) fieldValue)) {
-                    validateFields(entry);
-                }
+        validateMaxLength(field, fieldValue, annotation);
+        validateUrlValidity(context, field, fieldValue);
+        validateDuplicates(field, fieldValue);
+
+        if (annotation.containsId()) {
+            validateIds(context, rule, fieldValue);
+        } else if (fieldValue != null && ValidationPlan.of(fieldValue.getClass()).isModelClass()) {
+            validateFields(context, fieldValue);
+        } else if (fieldValue != null && Collection.class.isAssignableFrom(fieldValue.getClass())) {
+            for (Object entry : ((Collection) fieldValue)) {
+                validateFields(context, entry);
             }
         }
     }
@@ -236,130 +179,142 @@ public class FieldValidator {
         }
     }
 
-    private void validateUrlValidity(Field field, Object o) {
+    private void validateUrlValidity(ValidationContext context, Field field, Object o) {
         if (o != null) {
             Class clazz = o.getClass();
             if (URL.class.equals(clazz)) {
-                URL url = (URL) o;
-                validateUrl(field, url);
+                context.addUrl((URL) o, field);
             } else if (ArrayList.class.equals(clazz) && !((ArrayList) o).isEmpty() && URL.class.equals(((ArrayList) o).get(0).getClass())) {
                 for (int i = 0; i < ((ArrayList) o).size(); i++) {
-                    URL url = (URL) ((ArrayList) o).get(i);
-                    validateUrl(field, url);
+                    context.addUrl((URL) ((ArrayList) o).get(i), field);
                 }
             }
         }
     }
 
-    public void validateUrl(Field field, URL urlForValidation) {
-        HttpsTrustManager.allowAllSSL();
-        HttpURLConnection huc;
-        int statusCode = 0;
-
-        try {
-            // replace spaces with %20
-            if (urlForValidation.toString().contains(" ")) {
-                urlForValidation = new URL(urlForValidation.toString().replaceAll("\\s", "%20"));
+    /**
+     * Checks concurrently all the URLs found during the validation.
+     */
+    private void validateUrls(ValidationContext context) {
+        Map<URL, UrlVerifier.Result> results = urlVerifier.checkAll(context.getUrls().keySet());
+        for (Map.Entry<URL, UrlVerifier.Result> result : results.entrySet()) {
+            if (result.getValue() == UrlVerifier.Result.TIMEOUT) {
+                throw urlTimeout(context.getUrls().get(result.getKey()), result.getKey());
             }
+        }
+    }
+
+    public void validateUrl(Field field, URL urlForValidation) {
+        if (urlVerifier.check(urlForValidation) == UrlVerifier.Result.TIMEOUT) {
+            throw urlTimeout(field, urlForValidation);
+        }
+    }
 
-            // open connection and get response code
-            huc = (HttpURLConnection) urlForValidation.openConnection();
-            assert huc != null;
-            huc.setRequestMethod("HEAD");
-            huc.setConnectTimeout(5000);
-            statusCode = huc.getResponseCode();
-        } catch (java.net.SocketTimeoutException e) {
-            throw new ValidationException("URI provided is not valid, or takes too long to load. Found in field " + field.getName());
-        } catch (IOException e) {
-            logger.trace(e.getMessage());
-        }
-
-//        if (statusCode != 200 && statusCode != 301 && statusCode != 302 && statusCode != 308
-//                && statusCode != 403 && statusCode != 405 && statusCode != 503) {
-//            if (field == null) {
-//                throw new ValidationException(String.format("The URL '%s' you provided is not valid.", urlForValidation));
-//            } else {
-//                throw new ValidationException(String.format("The URL '%s' you provided is not valid. Found in field '%s'", urlForValidation, field.getName()));
-//            }
-//        }
+    private ValidationException urlTimeout(Field field, URL url) {
+        if (field == null) {
+            return new ValidationException(String.format("URI '%s' is not valid, or takes too long to load.", url));
+        }
+        return new ValidationException("URI provided is not valid, or takes too long to load. Found in field " + field.getName());
     }
 
-    // TODO: find a better way to get resources by id
-    private void validateIds(Field field, Object o, FieldValidation annotation) {
-        if (o != null && annotation.containsId()) {
+    /**
+     * Collects the ids contained in the field, to be resolved by {@link #validateReferences(ValidationContext)}.
+     */
+    private void validateIds(ValidationContext context, FieldRule rule, Object o) {
+        if (o != null) {
             if (Collection.class.isAssignableFrom(o.getClass())) {
                 for (Object entry : ((Collection) o)) {
-                    validateIds(field, entry, annotation);
+                    validateIds(context, rule, entry);
                 }
             } else if (String.class.equals(o.getClass())) {
-                try {
-                    if (annotation.containsResourceId()) {
-                        ServiceBundle serviceBundle = serviceBundleService.getOrElseReturnNull(o.toString());
-                        TrainingResourceBundle trainingResourceBundle = trainingResourceService.getOrElseReturnNull(o.toString());
-                        if (serviceBundle == null && trainingResourceBundle == null){
-                            throw new ValidationException(
-                                    String.format("Field '%s' should ONLY contain the ID of an existing Service " +
-                                            "or Training Resource", field.getName()));
-                        }
-                    } else if (Vocabulary.class.equals(annotation.idClass())) {
-                        Vocabulary voc = vocabularyService.get(o.toString());
-                        VocabularyValidation vocabularyValidation = field.getAnnotation(VocabularyValidation.class);
-                        GeoLocationVocValidation geoLocationVocValidation = field.getAnnotation(GeoLocationVocValidation.class);
-                        if (vocabularyValidation != null) {
-                            if (voc == null || Vocabulary.Type.fromString(voc.getType()) != vocabularyValidation.type()) {
-                                throw new ValidationException(
-                                        String.format("Field '%s' should contain the ID of a type '%s' Vocabulary",
-                                                field.getName(), vocabularyValidation.type()));
-                            }
-                        }
-                        // region/countries validation
-                        if (geoLocationVocValidation != null) {
-                            if (voc == null || (Vocabulary.Type.fromString(voc.getType()) != geoLocationVocValidation.region()
-                                    && Vocabulary.Type.fromString(voc.getType()) != geoLocationVocValidation.country())) {
-                                throw new ValidationException(
-                                        String.format("Field '%s' should contain the ID of either one of the types '%s' or '%s' Vocabularies",
-                                                field.getName(), geoLocationVocValidation.region(), geoLocationVocValidation.country()));
-                            }
-                        }
-                    } else if (Provider.class.equals(annotation.idClass())
-                            && providerService.get(o.toString()) == null) { //FIXME catalogueID
-                        throw new ValidationException(
-                                String.format("Field '%s' should contain the ID of an existing Provider",
-                                        field.getName()));
-                    } else if ((eu.einfracentral.domain.Service.class.equals(annotation.idClass())
-                            || ServiceBundle.class.equals(annotation.idClass()))
-                            && serviceBundleService.get(o.toString()) == null) {
-                        throw new ValidationException(
-                                String.format("Field '%s' should contain the ID of an existing Service",
-                                        field.getName()));
-                    } else if ((eu.einfracentral.domain.TrainingResource.class.equals(annotation.idClass())
-                            || TrainingResourceBundle.class.equals(annotation.idClass()))
-                            && trainingResourceService.get(o.toString()) == null) {
-                        throw new ValidationException(
-                                String.format("Field '%s' should contain the ID of an existing Training Resource",
-                                        field.getName()));
-                    } else if ((eu.einfracentral.domain.Catalogue.class.equals(annotation.idClass())
-                        || CatalogueBundle.class.equals(annotation.idClass()))
-                        && catalogueService.get(o.toString()) == null) {
-                        throw new ValidationException(
-                                String.format("Field '%s' should contain the ID of an existing Catalogue",
-                                        field.getName()));
-                    } else if ((eu.einfracentral.domain.InteroperabilityRecord.class.equals(annotation.idClass())
-                            || InteroperabilityRecordBundle.class.equals(annotation.idClass()))
-                            && interoperabilityRecordService.get(o.toString()) == null) {
-                        throw new ValidationException(
-                                String.format("Field '%s' should contain the ID of an existing InteroperabilityRecord",
-                                        field.getName()));
-                    }
-                } catch (ResourceException | ResourceNotFoundException e) {
-                    throw new ValidationException(
-                            String.format("%s with ID '%s' does not exist. Found in field '%s'",
-                                    annotation.idClass().getSimpleName(), o.toString(), field.getName()));
-                }
+                context.addReference(rule, (String) o);
+            }
+        }
+    }
+
+    /**
+     * Resolves all the ids collected during the validation, using the in-memory vocabularies and one search per
+     * referenced resource type, and reports all the invalid ids together.
+     */
+    private void validateReferences(ValidationContext context) {
+        if (context.getReferences().isEmpty()) {
+            return;
+        }
+        Map<String, Vocabulary> vocabularies = null;
+        Map<String, Set<String>> idsByResourceType = new LinkedHashMap<>();
+        for (IdReference reference : context.getReferences()) {
+            if (reference.rule.isVocabularyReference() && vocabularies == null) {
+                vocabularies = vocabularyService.getVocabulariesMap();
+            }
+            for (String resourceType : reference.rule.getReferencedResourceTypes()) {
+                idsByResourceType.computeIfAbsent(resourceType, type -> new LinkedHashSet<>()).add(reference.id);
+            }
+        }
+        Map<String, Set<String>> existingIds = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : idsByResourceType.entrySet()) {
+            existingIds.put(entry.getKey(), getExistingIds(entry.getKey(), entry.getValue()));
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (IdReference reference : context.getReferences()) {
+            String error;
+            if (reference.rule.isVocabularyReference()) {
+                error = validateVocabulary(reference, vocabularies.get(reference.id));
+            } else {
+                error = validateResource(reference, existingIds);
             }
+            if (error != null && !errors.contains(error)) {
+                errors.add(error);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException(String.join("; ", errors));
         }
     }
 
+    private String validateVocabulary(IdReference reference, Vocabulary voc) {
+        String fieldName = reference.rule.getName();
+        if (voc == null) {
+            return String.format("%s with ID '%s' does not exist. Found in field '%s'",
+                    Vocabulary.class.getSimpleName(), reference.id, fieldName);
+        }
+        VocabularyValidation vocabularyValidation = reference.rule.getVocabularyValidation();
+        GeoLocationVocValidation geoLocationVocValidation = reference.rule.getGeoLocationVocValidation();
+        if (vocabularyValidation != null && Vocabulary.Type.fromString(voc.getType()) != vocabularyValidation.type()) {
+            return String.format("Field '%s' should contain the ID of a type '%s' Vocabulary",
+                    fieldName, vocabularyValidation.type());
+        }
+        // region/countries validation
+        if (geoLocationVocValidation != null && Vocabulary.Type.fromString(voc.getType()) != geoLocationVocValidation.region()
+                && Vocabulary.Type.fromString(voc.getType()) != geoLocationVocValidation.country()) {
+            return String.format("Field '%s' should contain the ID of either one of the types '%s' or '%s' Vocabularies",
+                    fieldName, geoLocationVocValidation.region(), geoLocationVocValidation.country());
+        }
+        return null;
+    }
+
+    private String validateResource(IdReference reference, Map<String, Set<String>> existingIds) {
+        List<String> resourceTypes = reference.rule.getReferencedResourceTypes();
+        if (resourceTypes.isEmpty()
+                || resourceTypes.stream().anyMatch(type -> existingIds.get(type).contains(reference.id))) {
+            return null;
+        }
+        FieldValidation annotation = reference.rule.getFieldValidation();
+        if (annotation.containsResourceId()) {
+            return String.format("Field '%s' should ONLY contain the ID of an existing Service " +
+                    "or Training Resource", reference.rule.getName());
+        }
+        return String.format("%s with ID '%s' does not exist. Found in field '%s'",
+                annotation.idClass().getSimpleName(), reference.id, reference.rule.getName());
+    }
+
+    /**
+     * Returns the given ids that belong to existing resources of the given type, using a single id-only search.
+     */
+    private Set<String> getExistingIds(String resourceType, Set<String> ids) {
+        return genericResourceService.findExistingIds(resourceType, ids);
+    }
+
     private void removeNullOrEmptyEntries(Collection collection) {
         if (collection != null) {
             for (Iterator i = collection.iterator(); i.hasNext(); ) {
@@ -380,7 +335,7 @@ public class FieldValidator {
 
     private void validateDuplicates(Field field, Object o) {
         Set<String> duplicateEntries = new HashSet<>();
-        String subField = field.toString().substring(field.toString().lastIndexOf(".") + 1);
+        String subField = field.getName();
         if (o != null) {
             Class clazz = o.getClass();
             if (ArrayList.class.equals(clazz)) {
@@ -392,4 +347,59 @@ public class FieldValidator {
             }
         }
     }
+
+    /**
+     * The state of a single {@link #validate(Object)} call.
+     */
+    private static final class ValidationContext {
+
+        private final Deque<String> location = new ArrayDeque<>();
+        private final Map<URL, Field> urls = new LinkedHashMap<>();
+        private final List<IdReference> references = new ArrayList<>();
+
+        private void enter(String field) {
+            location.addLast(field);
+        }
+
+        private void exit() {
+            location.removeLast();
+        }
+
+        private String getCurrentLocation() {
+            return String.join("->", location);
+        }
+
+        private void addReference(FieldRule rule, String id) {
+            references.add(new IdReference(rule, id));
+        }
+
+        private List<IdReference> getReferences() {
+            return references;
+        }
+
+        private void addUrl(URL url, Field field) {
+            urls.putIfAbsent(url, field);
+        }
+
+        /**
+         * @return the URLs found during the validation, mapped to the first field containing them
+         */
+        private Map<URL, Field> getUrls() {
+            return urls;
+        }
+    }
+
+    /**
+     * An id found in a field that must belong to an existing vocabulary or resource.
+     */
+    private static final class IdReference {
+
+        private final FieldRule rule;
+        private final String id;
+
+        private IdReference(FieldRule rule, String id) {
+            this.rule = rule;
+            this.id = id;
+        }
+    }
 }
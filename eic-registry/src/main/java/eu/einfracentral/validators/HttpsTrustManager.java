@@ -1,13 +1,12 @@
 package eu.einfracentral.validators;
 
-import javax.net.ssl.*;
-import java.security.KeyManagementException;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
+import javax.net.ssl.X509TrustManager;
 import java.security.cert.X509Certificate;
 
+/**
+ * Trust manager accepting all certificates. Used by {@link UrlVerifier}, which only checks whether URLs are reachable.
+ */
 public class HttpsTrustManager implements X509TrustManager {
-    private static TrustManager[] trustManagers;
     private static final X509Certificate[] _AcceptedIssuers = new X509Certificate[]{};
 
     @Override
@@ -34,22 +33,4 @@ public class HttpsTrustManager implements X509TrustManager {
     public X509Certificate[] getAcceptedIssuers() {
         return _AcceptedIssuers;
     }
-
-    public static void allowAllSSL() {
-        HttpsURLConnection.setDefaultHostnameVerifier((arg0, arg1) -> true);
-
-        SSLContext context = null;
-        if (trustManagers == null) {
-            trustManagers = new TrustManager[]{new HttpsTrustManager()};
-        }
-
-        try {
-            context = SSLContext.getInstance("TLS");
-            context.init(null, trustManagers, new SecureRandom());
-        } catch (NoSuchAlgorithmException | KeyManagementException e) {
-            e.printStackTrace();
-        }
-
-        HttpsURLConnection.setDefaultSSLSocketFactory(context != null ? context.getSocketFactory() : null);
-    }
 }
@@ -0,0 +1,245 @@
+package eu.einfracentral.validators;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks whether URLs are reachable, using HEAD requests.
+ * <p>
+ * The URLs of a submission are checked concurrently by a bounded pool of threads, each within a deadline counted
+ * from the start of its check, so URLs waiting for a thread are not timed out. URLs still waiting for a thread when
+ * the same deadline has passed since the submission are skipped, so a submission never waits more than twice the
+ * deadline. Reachable and unreachable URLs are
+ * cached; timeouts are not, but hosts that timed out are not contacted again for a few seconds, so the URLs of one
+ * submission do not wait on the same host repeatedly. Only hosts not accepting the connection in time are reported
+ * as timed out; a host that accepted it is reachable, even if it did not respond in time.
+ * HTTPS connections trust all certificates, using an {@link SSLContext} scoped to the connections of this
+ * component, so the JVM defaults are left untouched.
+ */
+@Component
+public class UrlVerifier {
+
+    private static final Logger logger = LogManager.getLogger(UrlVerifier.class);
+
+    public enum Result {
+        /**
+         * The host responded, with any status code.
+         */
+        REACHABLE,
+        /**
+         * The connection failed for a reason other than a timeout (unknown host, refused connection etc.).
+         */
+        UNREACHABLE,
+        /**
+         * The host did not accept the connection in time.
+         */
+        TIMEOUT,
+        /**
+         * The URL was not checked, because no thread was free before the deadline of its submission.
+         */
+        SKIPPED
+    }
+
+    private static final long SKIPPED_CHECK = -1;
+
+    private final int timeout;
+    private final long deadline;
+    private final ExecutorService executor;
+    private final Cache<String, Result> results;
+    private final Cache<String, Boolean> timedOutHosts;
+    private final SSLSocketFactory sslSocketFactory;
+
+    public UrlVerifier(@Value("${validation.url.threads:16}") int threads,
+                       @Value("${validation.url.timeout:5000}") int timeout,
+                       @Value("${validation.url.deadline:15000}") long deadline,
+                       @Value("${validation.url.cacheTtl:600000}") long cacheTtl,
+                       @Value("${validation.url.timeoutCacheTtl:5000}") long timeoutCacheTtl) {
+        this.timeout = timeout;
+        this.deadline = deadline;
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("url-verifier-"));
+        this.results = CacheBuilder.newBuilder()
+                .expireAfterWrite(cacheTtl, TimeUnit.MILLISECONDS)
+                .maximumSize(10000)
+                .build();
+        this.timedOutHosts = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeoutCacheTtl, TimeUnit.MILLISECONDS)
+                .maximumSize(1000)
+                .build();
+        this.sslSocketFactory = createSslSocketFactory();
+    }
+
+    /**
+     * Checks a single URL.
+     *
+     * @param url the URL to check
+     * @return the result of the check
+     */
+    public Result check(URL url) {
+        URL normalized = normalize(url);
+        Result result = results.getIfPresent(normalized.toString());
+        if (result != null) {
+            return result;
+        }
+        if (timedOutHosts.getIfPresent(normalized.getHost()) != null) {
+            return Result.TIMEOUT;
+        }
+        result = connect(normalized);
+        if (result == Result.TIMEOUT) {
+            timedOutHosts.put(normalized.getHost(), Boolean.TRUE);
+        } else {
+            results.put(normalized.toString(), result);
+        }
+        return result;
+    }
+
+    /**
+     * Checks all the given URLs concurrently. URLs whose check has not completed within the deadline from its start
+     * are reported as {@link Result#TIMEOUT}, and URLs whose check has not started within the deadline from this call
+     * are reported as {@link Result#SKIPPED}.
+     *
+     * @param urls the URLs to check
+     * @return the result of each URL
+     */
+    public Map<URL, Result> checkAll(Collection<URL> urls) {
+        long submitted = System.currentTimeMillis();
+        List<URL> distinct = new ArrayList<>(new LinkedHashSet<>(urls));
+        Map<URL, Result> checked = new LinkedHashMap<>();
+        List<Future<Result>> futures = new ArrayList<>(distinct.size());
+        List<AtomicLong> starts = new ArrayList<>(distinct.size());
+        for (URL url : distinct) {
+            // start time of the check, 0 while queued, SKIPPED_CHECK once skipped
+            AtomicLong started = new AtomicLong();
+            starts.add(started);
+            futures.add(executor.submit(() -> {
+                if (!started.compareAndSet(0, System.currentTimeMillis())) {
+                    return Result.SKIPPED;
+                }
+                return check(url);
+            }));
+        }
+        try {
+            long cap = submitted + deadline;
+            for (int i = 0; i < distinct.size(); i++) {
+                checked.put(distinct.get(i), await(futures.get(i), starts.get(i), starts, cap));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (int i = 0; i < distinct.size(); i++) {
+                futures.get(i).cancel(true);
+                checked.putIfAbsent(distinct.get(i), Result.TIMEOUT);
+            }
+        }
+        return checked;
+    }
+
+    // waits for the check until the deadline counted from its start; once the cap of the submission has passed, all
+    // the checks not started yet are skipped
+    private Result await(Future<Result> future, AtomicLong started, List<AtomicLong> starts, long cap)
+            throws InterruptedException {
+        while (true) {
+            long now = System.currentTimeMillis();
+            if (now >= cap) {
+                starts.forEach(start -> start.compareAndSet(0, SKIPPED_CHECK));
+            }
+            long start = started.get();
+            if (start == SKIPPED_CHECK) {
+                future.cancel(false);
+                return Result.SKIPPED;
+            }
+            long until = start == 0 ? cap : (now >= cap ? start + deadline : Math.min(start + deadline, cap));
+            try {
+                return future.get(Math.max(until - now, 0), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (start != 0 && System.currentTimeMillis() - start >= deadline) {
+                    future.cancel(true);
+                    return Result.TIMEOUT;
+                }
+            } catch (ExecutionException e) {
+                logger.warn("Could not check URL", e.getCause());
+                return Result.UNREACHABLE;
+            }
+        }
+    }
+
+    private Result connect(URL url) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) url.openConnection();
+            if (connection instanceof HttpsURLConnection && sslSocketFactory != null) {
+                ((HttpsURLConnection) connection).setSSLSocketFactory(sslSocketFactory);
+                ((HttpsURLConnection) connection).setHostnameVerifier((hostname, session) -> true);
+            }
+            connection.setRequestMethod("HEAD");
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            try {
+                connection.connect();
+            } catch (SocketTimeoutException e) {
+                return Result.TIMEOUT;
+            }
+            // the host accepted the connection, a slow response does not make it unreachable
+            connection.getResponseCode();
+            return Result.REACHABLE;
+        } catch (SocketTimeoutException e) {
+            return Result.REACHABLE;
+        } catch (IOException | RuntimeException e) {
+            logger.trace(e.getMessage());
+            return Result.UNREACHABLE;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Replaces spaces with '%20'.
+     */
+    private static URL normalize(URL url) {
+        if (!url.toString().contains(" ")) {
+            return url;
+        }
+        try {
+            return new URL(url.toString().replaceAll("\\s", "%20"));
+        } catch (MalformedURLException e) {
+            return url;
+        }
+    }
+
+    private static SSLSocketFactory createSslSocketFactory() {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{new HttpsTrustManager()}, new SecureRandom());
+            return context.getSocketFactory();
+        } catch (GeneralSecurityException e) {
+            logger.error("Could not create SSL context, default SSL settings will be used", e);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
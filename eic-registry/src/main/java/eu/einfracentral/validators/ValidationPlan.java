@@ -0,0 +1,237 @@
+package eu.einfracentral.validators;
+
+import eu.einfracentral.annotation.*;
+import eu.einfracentral.domain.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The validation rules of a class, compiled once from its field annotations and cached.
+ * <p>
+ * Only the fields annotated with {@link EmailValidation}, {@link PhoneValidation}, {@link FieldValidation},
+ * {@link VocabularyValidation} or {@link GeoLocationVocValidation} are part of the plan, in declaration order.
+ * Classes outside the registry model have no rules.
+ */
+final class ValidationPlan {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<ValidationPlan> plans = new ClassValue<ValidationPlan>() {
+        @Override
+        protected ValidationPlan computeValue(Class<?> type) {
+            return new ValidationPlan(type);
+        }
+    };
+
+    private final boolean modelClass;
+    private final List<FieldRule> rules;
+
+    private ValidationPlan(Class<?> clazz) {
+        String name = clazz.getCanonicalName();
+        this.modelClass = name != null && name.startsWith("eu.einfracentral.");
+        if (!modelClass) {
+            this.rules = Collections.emptyList();
+            return;
+        }
+
+        List<Field> declaredFields = new ArrayList<>(Arrays.asList(clazz.getDeclaredFields()));
+        if (ServiceBundle.class.isAssignableFrom(clazz)
+                || TrainingResourceBundle.class.isAssignableFrom(clazz)
+                || InteroperabilityRecordBundle.class.isAssignableFrom(clazz)) {
+            declaredFields.addAll(Arrays.asList(clazz.getSuperclass().getDeclaredFields()));
+        }
+
+        List<FieldRule> fieldRules = new ArrayList<>();
+        for (Field field : declaredFields) {
+            FieldRule rule = compile(field);
+            if (rule != null) {
+                fieldRules.add(rule);
+            }
+        }
+        this.rules = Collections.unmodifiableList(fieldRules);
+    }
+
+    /**
+     * Returns the (cached) validation plan of the given class.
+     *
+     * @param clazz the class to validate
+     * @return the validation plan
+     */
+    static ValidationPlan of(Class<?> clazz) {
+        return plans.get(clazz);
+    }
+
+    /**
+     * @return true if the class belongs to the registry model, so its fields must be validated recursively
+     */
+    boolean isModelClass() {
+        return modelClass;
+    }
+
+    List<FieldRule> getRules() {
+        return rules;
+    }
+
+    private static FieldRule compile(Field field) {
+        if (Modifier.isStatic(field.getModifiers())) {
+            return null;
+        }
+        EmailValidation emailValidation = field.getAnnotation(EmailValidation.class);
+        if (emailValidation != null) {
+            return new FieldRule(field, FieldRule.Kind.EMAIL, emailValidation.nullable(), null, null, null);
+        }
+        PhoneValidation phoneValidation = field.getAnnotation(PhoneValidation.class);
+        if (phoneValidation != null) {
+            return new FieldRule(field, FieldRule.Kind.PHONE, phoneValidation.nullable(), null, null, null);
+        }
+
+        VocabularyValidation vocabularyValidation = field.getAnnotation(VocabularyValidation.class);
+        GeoLocationVocValidation geoLocationVocValidation = field.getAnnotation(GeoLocationVocValidation.class);
+        FieldValidation fieldValidation = field.getAnnotation(FieldValidation.class);
+        if (vocabularyValidation != null && fieldValidation == null) {
+            fieldValidation = VocabularyValidation.class.getAnnotation(FieldValidation.class);
+        }
+        // region/countries validation
+        if (geoLocationVocValidation != null && fieldValidation == null) {
+            fieldValidation = GeoLocationVocValidation.class.getAnnotation(FieldValidation.class);
+        }
+        if (fieldValidation == null) {
+            return null;
+        }
+        return new FieldRule(field, FieldRule.Kind.FIELD, fieldValidation.nullable(), fieldValidation,
+                vocabularyValidation, geoLocationVocValidation);
+    }
+
+    /**
+     * The validation of a single field.
+     */
+    static final class FieldRule {
+
+        enum Kind {
+            EMAIL, PHONE, FIELD
+        }
+
+        private final Field field;
+        private final Kind kind;
+        private final boolean nullable;
+        private final FieldValidation fieldValidation;
+        private final VocabularyValidation vocabularyValidation;
+        private final GeoLocationVocValidation geoLocationVocValidation;
+        private final List<String> referencedResourceTypes;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private FieldRule(Field field, Kind kind, boolean nullable, FieldValidation fieldValidation,
+                          VocabularyValidation vocabularyValidation, GeoLocationVocValidation geoLocationVocValidation) {
+            this.field = field;
+            this.kind = kind;
+            this.nullable = nullable;
+            this.fieldValidation = fieldValidation;
+            this.vocabularyValidation = vocabularyValidation;
+            this.geoLocationVocValidation = geoLocationVocValidation;
+            this.referencedResourceTypes = referencedResourceTypes(fieldValidation);
+            field.setAccessible(true);
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                this.setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(String.format("Could not access field '%s'", field), e);
+            }
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        String getName() {
+            return field.getName();
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        boolean isNullable() {
+            return nullable;
+        }
+
+        FieldValidation getFieldValidation() {
+            return fieldValidation;
+        }
+
+        VocabularyValidation getVocabularyValidation() {
+            return vocabularyValidation;
+        }
+
+        GeoLocationVocValidation getGeoLocationVocValidation() {
+            return geoLocationVocValidation;
+        }
+
+        /**
+         * @return true if the field contains ids of vocabularies
+         */
+        boolean isVocabularyReference() {
+            return fieldValidation != null && fieldValidation.containsId() && !fieldValidation.containsResourceId()
+                    && Vocabulary.class.equals(fieldValidation.idClass());
+        }
+
+        /**
+         * @return the resource types the ids of the field may belong to, or an empty list if the field does not
+         * contain ids of resources
+         */
+        List<String> getReferencedResourceTypes() {
+            return referencedResourceTypes;
+        }
+
+        private static List<String> referencedResourceTypes(FieldValidation fieldValidation) {
+            if (fieldValidation == null || !fieldValidation.containsId()) {
+                return Collections.emptyList();
+            }
+            Class<?> idClass = fieldValidation.idClass();
+            if (fieldValidation.containsResourceId()) {
+                return Arrays.asList("service", "training_resource");
+            } else if (Provider.class.equals(idClass)) {
+                return Collections.singletonList("provider");
+            } else if (Service.class.equals(idClass) || ServiceBundle.class.equals(idClass)) {
+                return Collections.singletonList("service");
+            } else if (TrainingResource.class.equals(idClass) || TrainingResourceBundle.class.equals(idClass)) {
+                return Collections.singletonList("training_resource");
+            } else if (Catalogue.class.equals(idClass) || CatalogueBundle.class.equals(idClass)) {
+                return Collections.singletonList("catalogue");
+            } else if (InteroperabilityRecord.class.equals(idClass) || InteroperabilityRecordBundle.class.equals(idClass)) {
+                return Collections.singletonList("interoperability_record");
+            }
+            return Collections.emptyList();
+        }
+
+        Object get(Object o) {
+            try {
+                return getter.invokeExact(o);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void set(Object o, Object value) {
+            try {
+                setter.invokeExact(o, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package eu.einfracentral.config;
+
+import org.junit.Test;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SessionAttributeCodecTests {
+
+    private final ConversionService conversionService =
+            new SessionAttributeCodec(getClass().getClassLoader()).conversionService();
+
+    @Test
+    public void attributesAreCompressed() {
+        List<String> attribute = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            attribute.add("ROLE_PROVIDER_" + i);
+        }
+        byte[] compressed = conversionService.convert(attribute, byte[].class);
+        byte[] uncompressed = new SerializingConverter().convert(attribute);
+
+        assertTrue(compressed.length < uncompressed.length / 2);
+        assertEquals(attribute, conversionService.convert(compressed, Object.class));
+    }
+
+    @Test
+    public void uncompressedAttributesAreRead() {
+        byte[] uncompressed = new SerializingConverter().convert("SPRING_SECURITY_CONTEXT");
+        assertEquals("SPRING_SECURITY_CONTEXT", conversionService.convert(uncompressed, Object.class));
+    }
+}
@@ -0,0 +1,119 @@
+package eu.einfracentral.config.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.mitre.openid.connect.client.service.ServerConfigurationService;
+import org.mitre.openid.connect.client.service.impl.StaticServerConfigurationService;
+import org.mitre.openid.connect.config.ServerConfiguration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal OIDC provider for tests: it issues signed tokens, publishes its keys at '/jwks' and answers '/userinfo'
+ * requests whose bearer token it has signed.
+ */
+class StandInOidcProvider implements AutoCloseable {
+
+    private final HttpServer server;
+    private final RSAKey key;
+    private final AtomicInteger userInfoRequests = new AtomicInteger();
+
+    StandInOidcProvider() throws IOException, JOSEException {
+        key = new RSAKeyGenerator(2048).keyID("stand-in").generate();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/jwks", exchange ->
+                respond(exchange, 200, new JWKSet(key.toPublicJWK()).toString()));
+        server.createContext("/userinfo", this::userInfo);
+        server.start();
+    }
+
+    String getIssuer() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    int getUserInfoRequests() {
+        return userInfoRequests.get();
+    }
+
+    ServerConfigurationService serverConfigurationService() {
+        ServerConfiguration configuration = new ServerConfiguration();
+        configuration.setIssuer(getIssuer());
+        configuration.setUserInfoUri(getIssuer() + "/userinfo");
+        configuration.setJwksUri(getIssuer() + "/jwks");
+        StaticServerConfigurationService service = new StaticServerConfigurationService();
+        service.setServers(Collections.singletonMap(getIssuer(), configuration));
+        return service;
+    }
+
+    /**
+     * @return a token for the given subject, signed by this provider and expiring after the given time
+     */
+    String issue(String subject, long expiresInMillis) throws JOSEException {
+        return issue(subject, expiresInMillis, key);
+    }
+
+    /**
+     * @return a token for the given subject, signed by a key unknown to this provider
+     */
+    String forge(String subject) throws JOSEException {
+        return issue(subject, 60000, new RSAKeyGenerator(2048).keyID("stand-in").generate());
+    }
+
+    private String issue(String subject, long expiresInMillis, RSAKey signingKey) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(getIssuer())
+                .subject(subject)
+                .expirationTime(new Date(System.currentTimeMillis() + expiresInMillis))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+
+    private void userInfo(HttpExchange exchange) throws IOException {
+        userInfoRequests.incrementAndGet();
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        try {
+            SignedJWT jwt = SignedJWT.parse(authorization.substring("Bearer ".length()));
+            if (jwt.verify(new RSASSAVerifier(key))) {
+                String subject = jwt.getJWTClaimsSet().getSubject();
+                respond(exchange, 200, String.format("{\"sub\":\"%s\",\"email\":\"%s@example.org\"," +
+                        "\"given_name\":\"%s\",\"family_name\":\"Test\"}", subject, subject, subject));
+                return;
+            }
+        } catch (Exception e) {
+            // invalid token
+        }
+        respond(exchange, 401, "{\"error\":\"invalid_token\"}");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
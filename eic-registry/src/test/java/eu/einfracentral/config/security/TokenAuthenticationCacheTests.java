@@ -0,0 +1,118 @@
+package eu.einfracentral.config.security;
+
+import eu.einfracentral.domain.User;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mitre.openid.connect.client.OIDCAuthenticationProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.common.exceptions.UnauthorizedUserException;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class TokenAuthenticationCacheTests {
+
+    private StandInOidcProvider oidcProvider;
+    private TokenAuthenticationCache tokenAuthenticationCache;
+
+    @Before
+    public void setUp() throws Exception {
+        oidcProvider = new StandInOidcProvider();
+        tokenAuthenticationCache = cache(60000);
+    }
+
+    @After
+    public void tearDown() {
+        oidcProvider.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void validatedTokenIsAuthenticatedOnce() throws Exception {
+        String token = oidcProvider.issue("alice", 60000);
+        assertEquals("alice@example.org", User.of(tokenAuthenticationCache.authenticate(token)).getEmail());
+        assertEquals("alice@example.org", User.of(tokenAuthenticationCache.authenticate(token)).getEmail());
+
+        assertEquals(1, oidcProvider.getUserInfoRequests());
+        assertEquals(1, tokenAuthenticationCache.getStatistics().getHits());
+        assertEquals(1, tokenAuthenticationCache.getStatistics().getMisses());
+    }
+
+    @Test
+    public void tokenIsAuthenticatedAgainAfterMaxTtl() throws Exception {
+        tokenAuthenticationCache = cache(200);
+        String token = oidcProvider.issue("alice", 60000);
+        tokenAuthenticationCache.authenticate(token);
+        Thread.sleep(300);
+        tokenAuthenticationCache.authenticate(token);
+
+        assertEquals(0, tokenAuthenticationCache.getStatistics().getHits());
+        assertEquals(2, tokenAuthenticationCache.getStatistics().getMisses());
+    }
+
+    @Test
+    public void cachedTokenExpiresWithTheToken() throws Exception {
+        String token = oidcProvider.issue("alice", 1000);
+        tokenAuthenticationCache.authenticate(token);
+        Thread.sleep(1100);
+        try {
+            tokenAuthenticationCache.authenticate(token);
+            fail("Expired token was authenticated");
+        } catch (CredentialsExpiredException e) {
+            assertEquals(1, oidcProvider.getUserInfoRequests());
+        }
+    }
+
+    @Test
+    public void tokenWithUnknownSignatureIsNeverCached() throws Exception {
+        String token = oidcProvider.forge("mallory");
+        for (int i = 0; i < 2; i++) {
+            try {
+                tokenAuthenticationCache.authenticate(token);
+                fail("Forged token was authenticated");
+            } catch (UnauthorizedUserException e) {
+                // rejected by the provider
+            }
+        }
+        assertEquals(2, oidcProvider.getUserInfoRequests());
+        assertEquals(2, tokenAuthenticationCache.getStatistics().getFailures());
+    }
+
+    @Test
+    public void filterAuthenticatesBearerTokens() throws Exception {
+        ApiKeyAuthorizationFilter filter = new ApiKeyAuthorizationFilter(tokenAuthenticationCache);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + oidcProvider.issue("alice", 60000));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+        assertEquals("alice@example.org", User.of(SecurityContextHolder.getContext().getAuthentication()).getEmail());
+
+        request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + oidcProvider.forge("mallory"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        assertNull(chain.getRequest());
+        assertEquals(401, response.getStatus());
+    }
+
+    private TokenAuthenticationCache cache(long maxTtl) {
+        OIDCAuthenticationProvider authenticationProvider = new OIDCAuthenticationProvider();
+        authenticationProvider.setAuthoritiesMapper((idToken, userInfo) -> {
+            if (userInfo == null) {
+                throw new UnauthorizedUserException("token is not valid or it has expired");
+            }
+            return Collections.singleton(new SimpleGrantedAuthority("ROLE_USER"));
+        });
+        return new TokenAuthenticationCache(oidcProvider.serverConfigurationService(), authenticationProvider, 100, maxTtl);
+    }
+}
@@ -0,0 +1,64 @@
+package eu.einfracentral.registry.manager;
+
+import eu.einfracentral.domain.Event;
+import eu.einfracentral.domain.Provider;
+import eu.einfracentral.domain.ProviderBundle;
+import eu.einfracentral.domain.User;
+import eu.openminted.registry.core.domain.Browsing;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UserInfoDeletionManagerTests {
+
+    private final User alice = new User("alice-id", "Alice@example.org", "Alice", "A");
+
+    private static ProviderBundle provider(String id) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        return new ProviderBundle(provider);
+    }
+
+    private static Event event(String id) {
+        Event event = new Event();
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    public void usersAreMatchedByIdOrElseByEmail() {
+        assertTrue(UserInfoDeletionManager.isUser(new User("alice-id", "old@example.org", "Alice", "A"), alice));
+        assertFalse(UserInfoDeletionManager.isUser(new User("other-id", "alice@example.org", "Alice", "A"), alice));
+        assertTrue(UserInfoDeletionManager.isUser(new User("", "alice@example.org", "Alice", "A"), alice));
+        assertFalse(UserInfoDeletionManager.isUser(new User(null, "bob@example.org", "Bob", "B"), alice));
+    }
+
+    @Test
+    public void soleAdminsAreDetected() {
+        User bob = new User("bob-id", "bob@example.org", "Bob", "B");
+        assertTrue(UserInfoDeletionManager.leavesNoAdmins(Collections.singletonList(new User("alice-id", "old@example.org", "Alice", "A")), alice));
+        assertFalse(UserInfoDeletionManager.leavesNoAdmins(Arrays.asList(new User("", "alice@example.org", "Alice", "A"), bob), alice));
+        assertFalse(UserInfoDeletionManager.leavesNoAdmins(Collections.singletonList(bob), alice));
+        assertFalse(UserInfoDeletionManager.leavesNoAdmins(Collections.emptyList(), alice));
+    }
+
+    @Test
+    public void cachedValuesReferencingAffectedResourcesAreDetected() {
+        Set<String> ids = new HashSet<>(Arrays.asList("p1", "eosc.p1", "e1", "s1"));
+
+        assertTrue(UserInfoDeletionManager.references(provider("eosc.p1"), ids));
+        assertTrue(UserInfoDeletionManager.references(Arrays.asList(provider("p2"), provider("p1")), ids));
+        List<ProviderBundle> page = Collections.singletonList(provider("p1"));
+        assertTrue(UserInfoDeletionManager.references(new Browsing<>(1, 0, 1, page, Collections.emptyList()), ids));
+        assertTrue(UserInfoDeletionManager.references(Collections.singletonList(event("e1")), ids));
+        assertTrue(UserInfoDeletionManager.references(Collections.singletonMap("s1", Collections.singletonList(1f)), ids));
+
+        assertFalse(UserInfoDeletionManager.references(provider("p2"), ids));
+        assertFalse(UserInfoDeletionManager.references(Collections.singletonList(event("e2")), ids));
+        assertFalse(UserInfoDeletionManager.references(Collections.singletonMap("s2", Collections.singletonList(1f)), ids));
+        assertFalse(UserInfoDeletionManager.references("p1", ids));
+    }
+}
@@ -0,0 +1,73 @@
+package eu.einfracentral.service;
+
+import eu.einfracentral.domain.Catalogue;
+import eu.einfracentral.domain.CatalogueBundle;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CatalogueIdRegistryTests {
+
+    private final GenericResourceServiceStub genericResourceService = new GenericResourceServiceStub();
+    private CatalogueIdRegistry catalogueIdRegistry;
+
+    @Before
+    public void setUp() {
+        genericResourceService.store("catalogue", catalogue("eosc", "approved catalogue", true));
+        catalogueIdRegistry = new CatalogueIdRegistry(genericResourceService.proxy());
+        catalogueIdRegistry.rebuild();
+    }
+
+    @Test
+    public void lookupsDoNotSearch() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Collections.singleton("eosc"), catalogueIdRegistry.getCatalogueIds());
+        }
+        assertEquals(1, genericResourceService.searches);
+    }
+
+    @Test
+    public void writesAddOnlyApprovedAndActiveCatalogues() {
+        catalogueIdRegistry.putCatalogue(catalogue("c1", "approved catalogue", true));
+        catalogueIdRegistry.putCatalogue(catalogue("c2", "pending catalogue", true));
+        assertEquals(new HashSet<>(Arrays.asList("eosc", "c1")), catalogueIdRegistry.getCatalogueIds());
+
+        catalogueIdRegistry.putCatalogue(catalogue("c1", "approved catalogue", false));
+        catalogueIdRegistry.removeCatalogue("eosc");
+        assertEquals(Collections.emptySet(), catalogueIdRegistry.getCatalogueIds());
+    }
+
+    @Test
+    public void failedRebuildKeepsTheCurrentIds() {
+        genericResourceService.failing = true;
+        catalogueIdRegistry.rebuild();
+        assertEquals(Collections.singleton("eosc"), catalogueIdRegistry.getCatalogueIds());
+    }
+
+    @Test
+    public void idsAreLoadedOnLookupIfNeverLoaded() {
+        genericResourceService.failing = true;
+        CatalogueIdRegistry registry = new CatalogueIdRegistry(genericResourceService.proxy());
+        registry.rebuild();
+        try {
+            registry.getCatalogueIds();
+            fail("ids that were never loaded must not be served");
+        } catch (IllegalStateException expected) {
+        }
+        genericResourceService.failing = false;
+        assertEquals(Collections.singleton("eosc"), registry.getCatalogueIds());
+    }
+
+    private static CatalogueBundle catalogue(String id, String status, boolean active) {
+        Catalogue catalogue = new Catalogue();
+        catalogue.setId(id);
+        CatalogueBundle catalogueBundle = new CatalogueBundle(catalogue);
+        catalogueBundle.setStatus(status);
+        catalogueBundle.setActive(active);
+        return catalogueBundle;
+    }
+}
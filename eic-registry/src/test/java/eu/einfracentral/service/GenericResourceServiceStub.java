@@ -0,0 +1,59 @@
+package eu.einfracentral.service;
+
+import eu.openminted.registry.core.domain.Browsing;
+import eu.openminted.registry.core.domain.FacetFilter;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Stub {@link GenericResourceService} of the tests, without a search index.
+ * <p>
+ * Searches return all the resources stored for the requested resource type, and fail while {@link #failing} is set.
+ * Ids exist if {@link #exists} says so. Any other method is unsupported.
+ */
+public class GenericResourceServiceStub {
+
+    // resource type -> resources
+    public final Map<String, List<Object>> stored = new HashMap<>();
+    public boolean failing;
+    public int searches;
+
+    public GenericResourceServiceStub store(String resourceType, Object... resources) {
+        stored.computeIfAbsent(resourceType, k -> new ArrayList<>()).addAll(Arrays.asList(resources));
+        return this;
+    }
+
+    /**
+     * @return whether a resource with the given id exists, false by default
+     */
+    protected boolean exists(String resourceType, String id) {
+        return false;
+    }
+
+    public GenericResourceService proxy() {
+        return (GenericResourceService) Proxy.newProxyInstance(GenericResourceService.class.getClassLoader(),
+                new Class[]{GenericResourceService.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getResults":
+                            searches++;
+                            if (failing) {
+                                throw new IllegalStateException("search unavailable");
+                            }
+                            List<Object> results = new ArrayList<>(stored.getOrDefault(
+                                    ((FacetFilter) args[0]).getResourceType(), Collections.emptyList()));
+                            return new Browsing<>(results.size(), 0, results.size(), results, Collections.emptyList());
+                        case "findExistingIds":
+                            Set<String> existing = new HashSet<>();
+                            for (Object id : (Collection<?>) args[1]) {
+                                if (exists((String) args[0], id.toString())) {
+                                    existing.add(id.toString());
+                                }
+                            }
+                            return existing;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,87 @@
+package eu.einfracentral.service;
+
+import eu.einfracentral.domain.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MembershipIndexTests {
+
+    private final GenericResourceServiceStub genericResourceService = new GenericResourceServiceStub();
+    private MembershipIndex membershipIndex;
+
+    private final User alice = new User("alice-id", "Alice@example.org", "Alice", "A");
+    private final User bob = new User(null, "bob@example.org", "Bob", "B");
+
+    @Before
+    public void setUp() {
+        genericResourceService.store("provider", provider("eosc", "p1", alice));
+        genericResourceService.store("pending_provider", provider("eosc", "p2", bob));
+        genericResourceService.store("catalogue", catalogue("c1", bob));
+        membershipIndex = new MembershipIndex(genericResourceService.proxy(), 10000);
+        membershipIndex.rebuild();
+    }
+
+    @Test
+    public void membershipsAreLoadedOnRebuild() {
+        assertTrue(membershipIndex.isProviderAdmin(alice, "eosc", "p1"));
+        assertTrue(membershipIndex.isProviderAdmin(new User("alice-id", "other@example.org", null, null), "eosc", "p1"));
+        assertTrue(membershipIndex.isProviderAdmin(new User(null, "alice@EXAMPLE.org", null, null), "eosc", "p1"));
+        assertFalse(membershipIndex.isProviderAdmin(bob, "eosc", "p1"));
+        assertFalse(membershipIndex.isProviderAdmin(alice, "other", "p1"));
+        assertTrue(membershipIndex.isCatalogueAdmin(bob, "c1"));
+        assertTrue(membershipIndex.isProviderUser("alice@example.org"));
+        assertTrue(membershipIndex.isCatalogueUser("bob@example.org"));
+        assertFalse(membershipIndex.isCatalogueUser("alice@example.org"));
+    }
+
+    @Test
+    public void pendingProviderIsCheckedOnlyIfNoProviderExists() {
+        assertTrue(membershipIndex.isProviderAdmin(bob, "eosc", "p2"));
+        membershipIndex.putProvider(provider("eosc", "p2", alice));
+        assertFalse(membershipIndex.isProviderAdmin(bob, "eosc", "p2"));
+        assertTrue(membershipIndex.isProviderAdmin(alice, "eosc", "p2"));
+    }
+
+    @Test
+    public void writesReplaceTheUsersOfAnEntry() {
+        membershipIndex.putProvider(provider("eosc", "p1", bob));
+        assertFalse(membershipIndex.isProviderAdmin(alice, "eosc", "p1"));
+        assertTrue(membershipIndex.isProviderAdmin(bob, "eosc", "p1"));
+        assertFalse(membershipIndex.isProviderUser("alice@example.org"));
+
+        membershipIndex.removeCatalogue("c1");
+        assertFalse(membershipIndex.isCatalogueAdmin(bob, "c1"));
+
+        membershipIndex.putProvider(provider("eosc", "p1"));
+        assertFalse(membershipIndex.isProviderAdmin(bob, "eosc", "p1"));
+        assertTrue(membershipIndex.isProviderUser("bob@example.org")); // still a user of the pending provider
+    }
+
+    @Test
+    public void failedRebuildKeepsTheCurrentIndex() {
+        genericResourceService.failing = true;
+        membershipIndex.rebuild();
+        assertTrue(membershipIndex.isProviderAdmin(alice, "eosc", "p1"));
+        assertTrue(membershipIndex.isCatalogueAdmin(bob, "c1"));
+    }
+
+    private static ProviderBundle provider(String catalogueId, String id, User... users) {
+        Provider provider = new Provider();
+        provider.setId(id);
+        provider.setCatalogueId(catalogueId);
+        provider.setUsers(new ArrayList<>(Arrays.asList(users)));
+        return new ProviderBundle(provider);
+    }
+
+    private static CatalogueBundle catalogue(String id, User... users) {
+        Catalogue catalogue = new Catalogue();
+        catalogue.setId(id);
+        catalogue.setUsers(new ArrayList<>(Arrays.asList(users)));
+        return new CatalogueBundle(catalogue);
+    }
+}
@@ -0,0 +1,97 @@
+package eu.einfracentral.utils;
+
+import eu.einfracentral.domain.Service;
+import eu.einfracentral.domain.ServiceBundle;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the id accessors of {@link ReflectUtils} and {@link ObjectUtils#merge(Object, Object)} with the previous
+ * implementations, which looked up methods and fields reflectively on every call.
+ * <p>
+ * Run the {@link #main(String[])} method to execute the benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanAccessorsBenchmark {
+
+    private ServiceBundle serviceBundle;
+    private Service service;
+    private Service update;
+
+    @Setup
+    public void setUp() throws IOException {
+        serviceBundle = TestResources.read("/benchmark/service-bundle.json", ServiceBundle.class);
+        service = serviceBundle.getService();
+        update = ObjectUtils.clone(service);
+    }
+
+    @Benchmark
+    public String getId() throws Exception {
+        return ReflectUtils.getId(ServiceBundle.class, serviceBundle);
+    }
+
+    @Benchmark
+    public String getIdReflective() throws Exception {
+        Method getId = ServiceBundle.class.getDeclaredMethod("getId");
+        return (String) getId.invoke(serviceBundle);
+    }
+
+    @Benchmark
+    public void setId() {
+        ReflectUtils.setId(Service.class, service, "id");
+    }
+
+    @Benchmark
+    public void setIdReflective() throws Exception {
+        try {
+            Service.class.getDeclaredMethod("setId").invoke(service, "id");
+        } catch (NoSuchMethodException e) {
+            Field idField = Service.class.getDeclaredField("id");
+            idField.setAccessible(true);
+            idField.set(service, "id");
+        }
+    }
+
+    @Benchmark
+    public Object merge() {
+        return ObjectUtils.merge(service, update);
+    }
+
+    @Benchmark
+    public Object mergeReflective() throws Exception {
+        for (Method fromMethod : service.getClass().getMethods()) {
+            if (fromMethod.getDeclaringClass().equals(service.getClass()) && fromMethod.getName().startsWith("get")) {
+                try {
+                    Method toMethod = service.getClass().getMethod(fromMethod.getName().replace("get", "set"), fromMethod.getReturnType());
+                    Object value = fromMethod.invoke(update, (Object[]) null);
+                    if (value != null) {
+                        toMethod.invoke(service, value);
+                    }
+                } catch (NoSuchMethodException e) {
+                    // read-only property
+                }
+            }
+        }
+        return service;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BeanAccessorsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
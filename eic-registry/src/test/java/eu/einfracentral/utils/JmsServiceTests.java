@@ -0,0 +1,151 @@
+package eu.einfracentral.utils;
+
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.jms.core.JmsTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class JmsServiceTests {
+
+    private static final String BROKER_NAME = "jms-service-tests";
+
+    private BrokerService broker;
+    private JmsTemplate topicTemplate;
+    private JmsTemplate queueTemplate;
+    private InMemoryOutbox outbox;
+    private JmsService jmsService;
+
+    @Before
+    public void setUp() throws Exception {
+        broker = startBroker();
+        ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://" + BROKER_NAME + "?create=false");
+        topicTemplate = new JmsTemplate(connectionFactory);
+        topicTemplate.setPubSubDomain(true);
+        queueTemplate = new JmsTemplate(connectionFactory);
+        queueTemplate.setReceiveTimeout(5000);
+        outbox = new InMemoryOutbox();
+        jmsService = new JmsService(topicTemplate, queueTemplate, outbox, new StandardEnvironment(), 1, 100, 10);
+        jmsService.init();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        jmsService.shutdown();
+        broker.stop();
+        broker.waitUntilStopped();
+    }
+
+    @Test
+    public void sendsBufferedMessages() {
+        for (int i = 0; i < 25; i++) {
+            jmsService.convertAndSendQueue("test.queue", "message-" + i);
+        }
+        for (int i = 0; i < 25; i++) {
+            assertEquals("message-" + i, queueTemplate.receiveAndConvert("test.queue"));
+        }
+        assertEquals(0, outbox.count());
+    }
+
+    @Test
+    public void sendsThePayloadAsPublished() {
+        Map<String, String> payload = new HashMap<>();
+        payload.put("email", "user@example.org");
+        jmsService.convertAndSendQueue("test.queue", payload);
+        payload.put("email", "masked");
+
+        assertEquals(Collections.singletonMap("email", "user@example.org"), queueTemplate.receiveAndConvert("test.queue"));
+    }
+
+    @Test
+    public void drainsOutboxAfterBrokerRecovery() throws Exception {
+        broker.stop();
+        broker.waitUntilStopped();
+
+        for (int i = 0; i < 5; i++) {
+            jmsService.convertAndSendQueue("test.queue", "message-" + i);
+        }
+        long deadline = System.currentTimeMillis() + 10000;
+        while (outbox.count() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(5, outbox.count());
+
+        broker = startBroker();
+        jmsService.drainOutbox();
+
+        assertEquals(0, outbox.count());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("message-" + i, queueTemplate.receiveAndConvert("test.queue"));
+        }
+    }
+
+    @Test
+    public void storesOnlyTheMessagesOfTheFailedDomain() throws Exception {
+        jmsService.shutdown();
+        JmsTemplate unavailableQueueTemplate = new JmsTemplate(new ActiveMQConnectionFactory("vm://missing?create=false"));
+        jmsService = new JmsService(topicTemplate, unavailableQueueTemplate, outbox, new StandardEnvironment(), 1, 100, 10);
+        jmsService.init();
+
+        jmsService.convertAndSendTopic("test.topic", "topic-message");
+        jmsService.convertAndSendQueue("test.queue", "queue-message");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (outbox.count() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        List<JmsMessage> stored = outbox.peek(10);
+        assertEquals(1, stored.size());
+        assertEquals("queue-message", stored.get(0).getPayload());
+    }
+
+    private BrokerService startBroker() throws Exception {
+        BrokerService brokerService = new BrokerService();
+        brokerService.setBrokerName(BROKER_NAME);
+        brokerService.setPersistent(false);
+        brokerService.setUseJmx(false);
+        brokerService.start();
+        brokerService.waitUntilStarted();
+        return brokerService;
+    }
+
+    private static class InMemoryOutbox implements JmsOutbox {
+
+        private final List<JmsMessage> messages = new ArrayList<>();
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public synchronized void store(List<JmsMessage> toStore) {
+            for (JmsMessage message : toStore) {
+                message.setId(ids.incrementAndGet());
+                messages.add(message);
+            }
+        }
+
+        @Override
+        public synchronized List<JmsMessage> peek(int limit) {
+            return messages.stream()
+                    .sorted(Comparator.comparing(JmsMessage::getId))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public synchronized void remove(List<JmsMessage> toRemove) {
+            messages.removeAll(toRemove);
+        }
+
+        @Override
+        public synchronized long count() {
+            return messages.size();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package eu.einfracentral.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.einfracentral.domain.ProviderBundle;
+import eu.einfracentral.domain.ServiceBundle;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ObjectUtils#clone(Object)} with the previous implementation, which created a new
+ * {@link ObjectMapper} and a JSON string on every call.
+ * <p>
+ * Run the {@link #main(String[])} method to execute the benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectUtilsBenchmark {
+
+    private ServiceBundle serviceBundle;
+    private ProviderBundle providerBundle;
+
+    @Setup
+    public void setUp() throws IOException {
+        serviceBundle = TestResources.read("/benchmark/service-bundle.json", ServiceBundle.class);
+        providerBundle = TestResources.read("/benchmark/provider-bundle.json", ProviderBundle.class);
+    }
+
+    @Benchmark
+    public ServiceBundle cloneServiceBundle() {
+        return ObjectUtils.clone(serviceBundle);
+    }
+
+    @Benchmark
+    public ServiceBundle cloneServiceBundleWithNewMapper() throws IOException {
+        return cloneWithNewMapper(serviceBundle);
+    }
+
+    @Benchmark
+    public ProviderBundle cloneProviderBundle() {
+        return ObjectUtils.clone(providerBundle);
+    }
+
+    @Benchmark
+    public ProviderBundle cloneProviderBundleWithNewMapper() throws IOException {
+        return cloneWithNewMapper(providerBundle);
+    }
+
+    private static <T> T cloneWithNewMapper(T object) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String json = objectMapper.writeValueAsString(object);
+        return (T) objectMapper.readValue(json, object.getClass());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ObjectUtilsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,21 @@
+package eu.einfracentral.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the JSON fixtures under the test resources, shared by the tests and the benchmarks.
+ */
+public final class TestResources {
+
+    private TestResources() {
+    }
+
+    public static <T> T read(String resource, Class<T> clazz) throws IOException {
+        try (InputStream in = TestResources.class.getResourceAsStream(resource)) {
+            return new ObjectMapper().readValue(in, clazz);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package eu.einfracentral.validators;
+
+import eu.einfracentral.domain.Service;
+import eu.einfracentral.utils.TestResources;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static eu.einfracentral.validators.FieldValidatorFixtures.*;
+
+/**
+ * Measures the throughput of {@link FieldValidator#validate(Object)} on a complete {@link Service}.
+ * The collaborators of the validator are the stubs of {@link FieldValidatorFixtures}.
+ * <p>
+ * Run the {@link #main(String[])} method to execute the benchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FieldValidatorBenchmark {
+
+    private FieldValidator fieldValidator;
+    private Service service;
+
+    @Setup
+    public void setUp() throws IOException {
+        service = TestResources.read("/benchmark/service.json", Service.class);
+        fieldValidator = new FieldValidator(vocabularyService(), genericResourceService(), reachableUrls());
+    }
+
+    @Benchmark
+    public Service validateService() throws IllegalAccessException {
+        fieldValidator.validate(service);
+        return service;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FieldValidatorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,76 @@
+package eu.einfracentral.validators;
+
+import eu.einfracentral.domain.Vocabulary;
+import eu.einfracentral.registry.service.VocabularyService;
+import eu.einfracentral.service.GenericResourceService;
+import eu.einfracentral.service.GenericResourceServiceStub;
+
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Stub collaborators of {@link FieldValidator}, shared by {@link FieldValidatorTests} and
+ * {@link FieldValidatorBenchmark}.
+ * <p>
+ * Vocabulary ids of the fixtures have the form '{type}-{value}', so the stub {@link VocabularyService} can return
+ * a vocabulary of the expected type, and all other referenced resources exist. URLs are reported as reachable,
+ * without network access.
+ */
+final class FieldValidatorFixtures {
+
+    private FieldValidatorFixtures() {
+    }
+
+    /**
+     * @return a {@link VocabularyService} whose vocabularies map returns, for every id '{type}-{value}', a vocabulary
+     * of the given type
+     */
+    static VocabularyService vocabularyService() {
+        Map<String, Vocabulary> vocabularies = new HashMap<String, Vocabulary>() {
+            @Override
+            public Vocabulary get(Object key) {
+                String id = (String) key;
+                Vocabulary.Type type = Vocabulary.Type.valueOf(id.substring(0, id.lastIndexOf('-')).toUpperCase());
+                Vocabulary vocabulary = new Vocabulary();
+                vocabulary.setId(id);
+                vocabulary.setType(type.getKey());
+                return vocabulary;
+            }
+        };
+        return (VocabularyService) Proxy.newProxyInstance(VocabularyService.class.getClassLoader(),
+                new Class[]{VocabularyService.class}, (proxy, method, args) -> {
+                    if ("getVocabulariesMap".equals(method.getName()) && args == null) {
+                        return vocabularies;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * @return a {@link GenericResourceService} finding a resource for every requested id, except the ones starting
+     * with 'missing'
+     */
+    static GenericResourceService genericResourceService() {
+        return new GenericResourceServiceStub() {
+            @Override
+            protected boolean exists(String resourceType, String id) {
+                return !id.startsWith("missing");
+            }
+        }.proxy();
+    }
+
+    /**
+     * @return a {@link UrlVerifier} reporting all URLs as reachable, without network access
+     */
+    static UrlVerifier reachableUrls() {
+        return new UrlVerifier(1, 1000, 1000, 0, 0) {
+            @Override
+            public Map<URL, Result> checkAll(Collection<URL> urls) {
+                Map<URL, Result> results = new LinkedHashMap<>();
+                urls.forEach(url -> results.put(url, Result.REACHABLE));
+                return results;
+            }
+        };
+    }
+}
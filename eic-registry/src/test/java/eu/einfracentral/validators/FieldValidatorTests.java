@@ -0,0 +1,113 @@
+package eu.einfracentral.validators;
+
+import eu.einfracentral.domain.*;
+import eu.einfracentral.exception.ValidationException;
+import eu.einfracentral.utils.ObjectUtils;
+import eu.einfracentral.utils.TestResources;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static eu.einfracentral.validators.FieldValidatorFixtures.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class FieldValidatorTests {
+
+    private static final int THREADS = 16;
+    private static final int VALIDATIONS = 2000;
+
+    private FieldValidator fieldValidator;
+    private Service service;
+
+    @Before
+    public void setUp() throws Exception {
+        service = TestResources.read("/benchmark/service.json", Service.class);
+        fieldValidator = new FieldValidator(vocabularyService(), genericResourceService(), reachableUrls());
+    }
+
+    @Test
+    public void validateReportsFieldLocation() {
+        assertNull(validate(0));
+        assertEquals("The phone you provided [12] is not valid. Found in field [mainContact->phone]", validate(1));
+        assertEquals("Email [invalid] is not valid. Found in field [publicContacts->email]", validate(2));
+        assertEquals("Field 'categories->category' is mandatory.", validate(3));
+    }
+
+    @Test
+    public void validateReportsAllMissingIds() {
+        service.setResourceProviders(Arrays.asList("eosc.provider-2", "missing-provider-1", "missing-provider-2"));
+        service.setTrl("category-1");
+        service.setRelatedResources(Arrays.asList("missing-service", "eosc.service-1"));
+        assertEquals("Provider with ID 'missing-provider-1' does not exist. Found in field 'resourceProviders'; " +
+                "Provider with ID 'missing-provider-2' does not exist. Found in field 'resourceProviders'; " +
+                "Field 'trl' should contain the ID of a type 'TRL' Vocabulary; " +
+                "Field 'relatedResources' should ONLY contain the ID of an existing Service or Training Resource", validate(0));
+    }
+
+    @Test
+    public void concurrentValidationsReportTheirOwnFieldLocation() throws Exception {
+        List<String> expected = new ArrayList<>();
+        for (int variant = 0; variant < 4; variant++) {
+            expected.add(validate(variant));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                final int offset = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int mismatches = 0;
+                    for (int i = 0; i < VALIDATIONS; i++) {
+                        int variant = (i + offset) % expected.size();
+                        String message = validate(variant);
+                        if (message == null ? expected.get(variant) != null : !message.equals(expected.get(variant))) {
+                            mismatches++;
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertEquals(Integer.valueOf(0), result.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Validates a copy of the service, invalidated according to the given variant.
+     *
+     * @return the validation error, or null if the service is valid
+     */
+    private String validate(int variant) {
+        Service copy = ObjectUtils.clone(service);
+        switch (variant) {
+            case 1:
+                copy.getMainContact().setPhone("12");
+                break;
+            case 2:
+                copy.getPublicContacts().get(copy.getPublicContacts().size() - 1).setEmail("invalid");
+                break;
+            case 3:
+                copy.getCategories().get(0).setCategory(null);
+                break;
+            default:
+        }
+        try {
+            fieldValidator.validate(copy);
+            return null;
+        } catch (ValidationException | IllegalAccessException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package eu.einfracentral.validators;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UrlVerifierTests {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private UrlVerifier urlVerifier;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ok", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            requests.incrementAndGet();
+            sleep(Long.parseLong(exchange.getRequestURI().getQuery()));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        urlVerifier = new UrlVerifier(8, 1000, 3000, 60000, 60000);
+    }
+
+    @After
+    public void tearDown() {
+        urlVerifier.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    public void reachableUrlIsCached() throws IOException {
+        assertEquals(UrlVerifier.Result.REACHABLE, urlVerifier.check(url("/ok")));
+        assertEquals(UrlVerifier.Result.REACHABLE, urlVerifier.check(url("/ok")));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void closedPortIsUnreachable() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        assertEquals(UrlVerifier.Result.UNREACHABLE, urlVerifier.check(new URL("http://localhost:" + port + "/ok")));
+    }
+
+    @Test
+    public void slowResponseIsReachable() throws IOException {
+        assertEquals(UrlVerifier.Result.REACHABLE, urlVerifier.check(url("/slow?2000")));
+    }
+
+    @Test
+    public void hostNotAcceptingConnectionsTimesOutAndIsNotContactedAgainForAWhile() throws IOException {
+        urlVerifier.shutdown();
+        urlVerifier = new UrlVerifier(8, 300, 3000, 60000, 1000);
+        // a full accept queue drops new connection requests
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getByName("localhost"));
+             Socket first = new Socket("localhost", socket.getLocalPort());
+             Socket second = new Socket("localhost", socket.getLocalPort())) {
+            URL url = new URL("http://localhost:" + socket.getLocalPort() + "/ok");
+            assertEquals(UrlVerifier.Result.TIMEOUT, urlVerifier.check(url));
+
+            long start = System.currentTimeMillis();
+            assertEquals(UrlVerifier.Result.TIMEOUT, urlVerifier.check(url));
+            assertTrue("Timed out host was contacted again", System.currentTimeMillis() - start < 300);
+
+            sleep(1100);
+            start = System.currentTimeMillis();
+            assertEquals(UrlVerifier.Result.TIMEOUT, urlVerifier.check(url));
+            assertTrue("Timeout was cached", System.currentTimeMillis() - start >= 300);
+        }
+    }
+
+    @Test
+    public void urlsAreCheckedConcurrently() throws IOException {
+        List<URL> urls = Arrays.asList(url("/slow?500"), url("/slow?501"), url("/slow?502"), url("/slow?503"),
+                url("/slow?504"), url("/slow?505"), url("/ok"), url("/ok"));
+        long start = System.currentTimeMillis();
+        Map<URL, UrlVerifier.Result> results = urlVerifier.checkAll(urls);
+        long duration = System.currentTimeMillis() - start;
+
+        assertEquals(7, results.size());
+        assertTrue(results.values().stream().allMatch(result -> result == UrlVerifier.Result.REACHABLE));
+        assertTrue("URLs were checked sequentially: " + duration + " ms", duration < 2000);
+    }
+
+    @Test
+    public void urlsWaitingForAThreadDoNotTimeOut() throws IOException {
+        urlVerifier.shutdown();
+        urlVerifier = new UrlVerifier(1, 5000, 1000, 60000, 60000);
+        Map<URL, UrlVerifier.Result> results = urlVerifier.checkAll(Arrays.asList(url("/slow?600"), url("/slow?601")));
+
+        assertTrue(results.values().stream().allMatch(result -> result == UrlVerifier.Result.REACHABLE));
+    }
+
+    @Test
+    public void urlsWaitingForAThreadPastTheDeadlineAreSkipped() throws IOException {
+        urlVerifier.shutdown();
+        urlVerifier = new UrlVerifier(1, 5000, 1000, 60000, 60000);
+        long start = System.currentTimeMillis();
+        Map<URL, UrlVerifier.Result> results = urlVerifier.checkAll(Arrays.asList(url("/slow?700"), url("/slow?701"),
+                url("/ok")));
+        long duration = System.currentTimeMillis() - start;
+
+        assertEquals(UrlVerifier.Result.REACHABLE, results.get(url("/slow?700")));
+        assertEquals(UrlVerifier.Result.REACHABLE, results.get(url("/slow?701")));
+        assertEquals(UrlVerifier.Result.SKIPPED, results.get(url("/ok")));
+        assertTrue("Submission deadline was not respected: " + duration + " ms", duration < 2500);
+    }
+
+    @Test
+    public void urlsNotCheckedBeforeTheDeadlineTimeOut() throws IOException {
+        urlVerifier.shutdown();
+        urlVerifier = new UrlVerifier(8, 5000, 500, 60000, 60000);
+        long start = System.currentTimeMillis();
+        Map<URL, UrlVerifier.Result> results = urlVerifier.checkAll(Arrays.asList(url("/slow?2000"), url("/ok")));
+        long duration = System.currentTimeMillis() - start;
+
+        assertEquals(UrlVerifier.Result.TIMEOUT, results.get(url("/slow?2000")));
+        assertEquals(UrlVerifier.Result.REACHABLE, results.get(url("/ok")));
+        assertTrue("Deadline was not respected: " + duration + " ms", duration < 1500);
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}